@@ -0,0 +1,45 @@
+package com.provider.registration.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.provider.registration.model.VerificationStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProviderLoginResponseBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ProviderLoginResponse response;
+
+    @Setup
+    public void setUp() {
+        // Matches the mapper Spring Boot builds for the web layer
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        ProviderLoginResponse.ProviderData providerData = new ProviderLoginResponse.ProviderData(
+                UUID.randomUUID(), "John", "Doe", "john.doe@example.com", "Cardiology",
+                VerificationStatus.VERIFIED, true, LocalDateTime.now());
+        ProviderLoginResponse.LoginData loginData = new ProviderLoginResponse.LoginData(
+                "eyJhbGciOiJIUzUxMiJ9.eyJzdWIiOiJqb2huLmRvZUBleGFtcGxlLmNvbSJ9.signature",
+                900L, "Bearer", "pkmW3J0cX2nB1u8QxRzT5vLk9aYhGe4sDf6jNw7oPqI", 1209600L, providerData);
+        response = new ProviderLoginResponse(true, "Login successful", loginData);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
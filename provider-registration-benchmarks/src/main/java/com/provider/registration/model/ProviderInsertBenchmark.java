@@ -0,0 +1,132 @@
+package com.provider.registration.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Bulk insert throughput into a file-backed H2 database with the production schema (V1 migration),
+ * comparing random (version 4) ids with {@link TimeOrderedUuidGenerator}. Each trial starts from an
+ * empty database; per-million throughput is printed so the slowdown as the indexes grow is visible.
+ *
+ * <p>The full run uses 10M rows and takes a while; pass -p rows=1000000 for a quicker comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+// A 10M-row trial with random ids runs far past JMH's default ten-minute iteration timeout
+@Timeout(time = 6, timeUnit = TimeUnit.HOURS)
+@Fork(1)
+public class ProviderInsertBenchmark {
+
+    private static final String SCHEMA = "db/migration/V1__create_provider.sql";
+    private static final int REPORT_EVERY = 1_000_000;
+
+    @Param({"random", "timeOrdered"})
+    private String idStrategy;
+
+    @Param({"10000000"})
+    private int rows;
+
+    @Param({"1000"})
+    private int batchSize;
+
+    private Path directory;
+    private Connection connection;
+    private final List<String> progress = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        directory = Files.createTempDirectory("provider-insert-benchmark");
+        connection = DriverManager.getConnection(
+                "jdbc:h2:file:" + directory.resolve("providers") + ";QUERY_CACHE_SIZE=64", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : readSchema().split(";")) {
+                if (!sql.isBlank()) {
+                    statement.execute(sql);
+                }
+            }
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, SQLException {
+        progress.forEach(System.out::println);
+        connection.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public int insert() throws SQLException {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        long intervalStart = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into provider (id, first_name, last_name, email, phone_number, password_hash, " +
+                "specialization, license_number, years_of_experience, city, state, verification_status, " +
+                "is_active, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                insert.setObject(1, nextId());
+                insert.setString(2, "First" + (i % 5000));
+                insert.setString(3, "Last" + (i % 7919));
+                insert.setString(4, "provider" + i + "@example.com");
+                insert.setString(5, "+1" + (2_000_000_000L + i));
+                insert.setString(6, "{bcrypt}$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3Qf1nQ0xQe1q6o7B8w9a0b2");
+                insert.setString(7, "Cardiology");
+                insert.setString(8, "LIC" + i);
+                insert.setInt(9, i % 40);
+                insert.setString(10, "City" + (i % 1000));
+                insert.setString(11, "ST");
+                insert.setString(12, "PENDING");
+                insert.setBoolean(13, true);
+                insert.setTimestamp(14, now);
+                insert.setTimestamp(15, now);
+                insert.addBatch();
+                if (i % batchSize == 0 || i == rows) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+                if (i % REPORT_EVERY == 0) {
+                    long elapsed = System.nanoTime() - intervalStart;
+                    progress.add(String.format("%s: rows %,d-%,d at %,.0f rows/s", idStrategy,
+                            i - REPORT_EVERY + 1, i, REPORT_EVERY * 1e9 / elapsed));
+                    intervalStart = System.nanoTime();
+                }
+            }
+        }
+        return rows;
+    }
+
+    private UUID nextId() {
+        return "random".equals(idStrategy) ? UUID.randomUUID() : TimeOrderedUuidGenerator.nextUuid();
+    }
+
+    private static String readSchema() throws IOException {
+        try (InputStream in = ProviderInsertBenchmark.class.getClassLoader().getResourceAsStream(SCHEMA)) {
+            if (in == null) {
+                throw new IllegalStateException(SCHEMA + " not found on the classpath");
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.provider.registration.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenUtilBenchmark {
+
+    private JwtTokenUtil jwtTokenUtil;
+    private UUID providerId;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenUtil = new JwtTokenUtil();
+        ReflectionTestUtils.setField(jwtTokenUtil, "secret",
+                "benchmarkSecretKeyThatIsLongEnoughForHmacSha512AlgorithmRequirementsInJwtLibrary");
+        ReflectionTestUtils.setField(jwtTokenUtil, "expiration", 3600L);
+        ReflectionTestUtils.setField(jwtTokenUtil, "issuer", "provider-registration-service");
+        jwtTokenUtil.init();
+
+        providerId = UUID.randomUUID();
+        token = jwtTokenUtil.generateToken(providerId, "john.doe@example.com", "Cardiology");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenUtil.generateToken(providerId, "john.doe@example.com", "Cardiology");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtTokenUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public ParsedToken parseToken() {
+        return jwtTokenUtil.parseToken(token);
+    }
+}
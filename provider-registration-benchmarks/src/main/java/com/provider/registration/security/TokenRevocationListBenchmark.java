@@ -0,0 +1,58 @@
+package com.provider.registration.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Per-request revocation check against a list holding hundreds of thousands of revoked tokens
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenRevocationListBenchmark {
+
+    @Param({"0", "500000"})
+    private int revokedTokens;
+
+    private TokenRevocationList tokenRevocationList;
+    private ParsedToken revoked;
+    private ParsedToken active;
+
+    @Setup
+    public void setUp() {
+        tokenRevocationList = new TokenRevocationList(60, 900, "", new SimpleMeterRegistry());
+        UUID providerId = UUID.randomUUID();
+        for (int i = 0; i < revokedTokens; i++) {
+            // Spread over the whole access-token lifetime, as real logouts would be
+            ParsedToken token = token(providerId, 60 + i % 840);
+            tokenRevocationList.revoke(token);
+            if (i == revokedTokens / 2) {
+                revoked = token;
+            }
+        }
+        active = token(providerId, 450);
+        if (revoked == null) {
+            revoked = active;
+        }
+    }
+
+    @Benchmark
+    public boolean activeToken() {
+        return tokenRevocationList.isRevoked(active);
+    }
+
+    @Benchmark
+    public boolean revokedToken() {
+        return tokenRevocationList.isRevoked(revoked);
+    }
+
+    private static ParsedToken token(UUID providerId, long expiresInSeconds) {
+        return new ParsedToken("john.doe@example.com", providerId, "Cardiology",
+                new Date(System.currentTimeMillis() + expiresInSeconds * 1000), UUID.randomUUID(), new Date());
+    }
+}
@@ -0,0 +1,62 @@
+package com.provider.registration.service;
+
+import com.provider.registration.dto.ProviderSuggestion;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Typeahead latency distribution (SampleTime reports p99) over a million synthetic providers
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class ProviderDirectoryIndexBenchmark {
+
+    private static final String[] SYLLABLES = {
+            "an", "bel", "car", "da", "el", "fen", "gar", "hal", "is", "jo", "ka", "lin", "mar", "no", "ol",
+            "pe", "qui", "ro", "sa", "ta", "ul", "ver", "wen", "xa", "yo", "zel"};
+    private static final String[] SPECIALIZATIONS = {
+            "Cardiology", "Dermatology", "Pediatrics", "Oncology", "Neurology", "Orthopedic Surgery",
+            "Family Medicine", "Internal Medicine", "Psychiatry", "Radiology"};
+    private static final String[] CITIES = {
+            "New York", "Los Angeles", "Chicago", "Houston", "Phoenix", "Philadelphia", "San Antonio",
+            "San Diego", "Dallas", "San Jose"};
+
+    @Param({"1000000"})
+    private int providers;
+
+    @Param({"j", "jo", "mar", "jo card", "carlin"})
+    private String query;
+
+    private InvertedIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        index = new InvertedIndex(providers, 10_000);
+        for (int i = 0; i < providers; i++) {
+            index.add(UUID.randomUUID(), name(random), name(random),
+                    SPECIALIZATIONS[random.nextInt(SPECIALIZATIONS.length)], CITIES[random.nextInt(CITIES.length)]);
+        }
+    }
+
+    @Benchmark
+    public List<ProviderSuggestion> suggest() {
+        return index.search(query, 10);
+    }
+
+    private static String name(Random random) {
+        StringBuilder name = new StringBuilder();
+        int syllables = 2 + random.nextInt(2);
+        for (int i = 0; i < syllables; i++) {
+            name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+        return name.toString();
+    }
+}
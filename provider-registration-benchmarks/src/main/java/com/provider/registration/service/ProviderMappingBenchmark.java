@@ -0,0 +1,36 @@
+package com.provider.registration.service;
+
+import com.provider.registration.dto.ClinicAddressDto;
+import com.provider.registration.dto.ProviderRegistrationRequest;
+import com.provider.registration.model.Provider;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Lives in the service package to reach the package-private ProviderService.toEntity
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProviderMappingBenchmark {
+
+    private ProviderService providerService;
+    private ProviderRegistrationRequest request;
+
+    @Setup
+    public void setUp() {
+        // toEntity touches none of the collaborators
+        providerService = new ProviderService(null, null, null, null, null, null, null);
+        request = new ProviderRegistrationRequest(
+                "John", "Doe", "john.doe@example.com", "+1234567890", "StrongPass123!",
+                "Cardiology", "LIC123456", 10,
+                new ClinicAddressDto("123 Main St", "New York", "NY", "10001"));
+    }
+
+    @Benchmark
+    public Provider toEntity() {
+        return providerService.toEntity(request, "$2a$12$hashedPasswordPlaceholderForBenchmarkOnly");
+    }
+}
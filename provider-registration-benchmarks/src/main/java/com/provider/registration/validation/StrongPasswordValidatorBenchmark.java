@@ -0,0 +1,43 @@
+package com.provider.registration.validation;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StrongPasswordValidatorBenchmark {
+
+    // A valid password walks every rule; the others fail at different points
+    @Param({"StrongPass123!", "weakpassword", "NoSpecialChar123", "Sh0rt!"})
+    private String password;
+
+    private StrongPasswordValidator validator;
+
+    @Setup
+    public void setUp() {
+        validator = new StrongPasswordValidator();
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return validator.isValid(password, null);
+    }
+
+    // The String.matches implementation the single-pass validator replaced, kept as the baseline
+    @Benchmark
+    public boolean regexBaseline() {
+        if (password == null || password.trim().isEmpty()) {
+            return false;
+        }
+        return password.length() >= 8
+                && password.matches(".*[A-Z].*")
+                && password.matches(".*[a-z].*")
+                && password.matches(".*\\d.*")
+                && password.matches(".*[!@#$%^&*()_+\\-=\\[\\]{};':\"\\\\|,.<>\\/?].*");
+    }
+}
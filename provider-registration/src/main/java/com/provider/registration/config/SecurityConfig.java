@@ -1,30 +1,95 @@
 package com.provider.registration.config;
 
+import com.provider.registration.security.BCryptStrengthCalibrator;
+import com.provider.registration.security.BoundedPasswordEncoder;
+import com.provider.registration.security.JwtAuthenticationFilter;
+import com.provider.registration.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import java.util.HashMap;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
+@RequiredArgsConstructor
 public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    private static final String BCRYPT_ID = "bcrypt";
+
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    @Value("${password.hashing.pool-size:0}")
+    private int hashingPoolSize;
+
+    @Value("${password.hashing.queue-capacity:64}")
+    private int hashingQueueCapacity;
+
+    @Value("${password.hashing.retry-after-seconds:1}")
+    private long hashingRetryAfterSeconds;
+
+    @Value("${password.hashing.bcrypt-strength:0}")
+    private int bcryptStrength;
+
+    @Value("${password.hashing.target-latency-ms:100}")
+    private long targetLatencyMs;
+
+    @Value("${password.hashing.min-strength:10}")
+    private int minStrength;
+
+    @Value("${password.hashing.max-strength:14}")
+    private int maxStrength;
+
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        int strength = bcryptStrength > 0
+                ? bcryptStrength
+                : BCryptStrengthCalibrator.calibrate(targetLatencyMs, minStrength, maxStrength);
+
+        // New hashes are written as {bcrypt}<hash>; legacy hashes without an id prefix are
+        // still verified as BCrypt and report upgradeEncoding() so login can re-hash them
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT_ID, new BCryptPasswordEncoder(strength));
+        DelegatingPasswordEncoder delegatingEncoder = new DelegatingPasswordEncoder(BCRYPT_ID, encoders);
+        delegatingEncoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder(strength));
+
+        int poolSize = hashingPoolSize > 0 ? hashingPoolSize : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(delegatingEncoder, poolSize, hashingQueueCapacity,
+                hashingRetryAfterSeconds, meterRegistry);
     }
 
     @Override
     protected void configure(HttpSecurity http) throws Exception {
         http
             .csrf().disable()
+            .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+            .and()
+            .exceptionHandling().authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED))
+            .and()
+            .addFilterBefore(new JwtAuthenticationFilter(verifiedTokenCache), UsernamePasswordAuthenticationFilter.class)
             .authorizeRequests()
                 .antMatchers("/providers/register").permitAll()
+                .antMatchers("/providers/register/batch").permitAll()
                 .antMatchers("/api/v1/provider/login").permitAll()
+                .antMatchers("/api/v1/provider/token/refresh").permitAll()
                 .antMatchers("/h2-console/**").permitAll()
+                // Actuator is served only on the loopback management port (management.server.*),
+                // so its rebuild operations and metrics are unreachable through the public port
+                .requestMatchers(EndpointRequest.toAnyEndpoint()).permitAll()
                 .anyRequest().authenticated()
             .and()
             .headers().frameOptions().disable(); // For H2 console
@@ -0,0 +1,33 @@
+package com.provider.registration.config;
+
+import com.provider.registration.metrics.SlowQueryListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+// Wraps the pooled DataSource so every statement passes through the slow query listener
+@Component
+@ConditionalOnProperty(name = "db.slow-query.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryDataSourcePostProcessor implements BeanPostProcessor {
+
+    // Resolved lazily so the listener and its MeterRegistry are not created during post processor registration
+    private final ObjectProvider<SlowQueryListener> slowQueryListener;
+
+    public SlowQueryDataSourcePostProcessor(ObjectProvider<SlowQueryListener> slowQueryListener) {
+        this.slowQueryListener = slowQueryListener;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource) {
+            return ProxyDataSourceBuilder.create(beanName, (DataSource) bean)
+                    .listener(slowQueryListener.getObject())
+                    .build();
+        }
+        return bean;
+    }
+}
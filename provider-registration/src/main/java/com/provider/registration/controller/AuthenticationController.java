@@ -2,15 +2,22 @@ package com.provider.registration.controller;
 
 import com.provider.registration.dto.ProviderLoginRequest;
 import com.provider.registration.dto.ProviderLoginResponse;
+import com.provider.registration.dto.TokenRefreshRequest;
+import com.provider.registration.security.BoundedPasswordEncoder;
+import com.provider.registration.security.LoginRateLimiter;
+import com.provider.registration.security.ParsedToken;
 import com.provider.registration.service.AuthenticationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import java.util.HashMap;
 import java.util.Map;
@@ -22,19 +29,42 @@ import java.util.Map;
 public class AuthenticationController {
 
     private final AuthenticationService authenticationService;
+    private final LoginRateLimiter loginRateLimiter;
 
     @PostMapping("/login")
-    public ResponseEntity<ProviderLoginResponse> login(@Valid @RequestBody ProviderLoginRequest request) {
-        log.info("Received login request for email: {}", request.getEmail());
+    public ResponseEntity<ProviderLoginResponse> login(@Valid @RequestBody ProviderLoginRequest request,
+                                                       HttpServletRequest httpRequest) {
+        // Throttle before any lookup or password verification happens
+        loginRateLimiter.checkLogin(request.getEmail(), httpRequest.getRemoteAddr());
         try {
             ProviderLoginResponse response = authenticationService.login(request);
             return ResponseEntity.ok(response);
         } catch (AuthenticationService.AuthenticationException e) {
-            log.error("Authentication error: {}", e.getMessage());
+            log.debug("Authentication error: {}", e.getMessage());
             throw e;
         }
     }
 
+    @PostMapping("/token/refresh")
+    public ResponseEntity<ProviderLoginResponse> refresh(@Valid @RequestBody TokenRefreshRequest request) {
+        // Refresh tokens are 256-bit random values, so unlike login this needs no throttling against guessing
+        try {
+            return ResponseEntity.ok(authenticationService.refresh(request));
+        } catch (AuthenticationService.AuthenticationException e) {
+            log.debug("Token refresh error: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    // Authenticated; the refresh token in the optional body is revoked along with the access token
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@AuthenticationPrincipal ParsedToken accessToken,
+                                       @RequestBody(required = false) TokenRefreshRequest request,
+                                       @RequestParam(defaultValue = "false") boolean everywhere) {
+        authenticationService.logout(accessToken, request == null ? null : request.getRefresh_token(), everywhere);
+        return ResponseEntity.noContent().build();
+    }
+
     @ExceptionHandler(AuthenticationService.AuthenticationException.class)
     public ResponseEntity<Map<String, String>> handleAuthenticationException(
             AuthenticationService.AuthenticationException ex) {
@@ -44,6 +74,28 @@ public class AuthenticationController {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
     }
 
+    @ExceptionHandler(LoginRateLimiter.RateLimitExceededException.class)
+    public ResponseEntity<Map<String, String>> handleRateLimitExceeded(
+            LoginRateLimiter.RateLimitExceededException ex) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("success", "false");
+        errorResponse.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
+    @ExceptionHandler(BoundedPasswordEncoder.CapacityExceededException.class)
+    public ResponseEntity<Map<String, String>> handleHashingCapacityExceeded(
+            BoundedPasswordEncoder.CapacityExceededException ex) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("success", "false");
+        errorResponse.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidationExceptions(
             MethodArgumentNotValidException ex) {
@@ -1,11 +1,21 @@
 package com.provider.registration.controller;
 
+import com.provider.registration.dto.ProviderBatchRegistrationRequest;
+import com.provider.registration.dto.ProviderBatchRegistrationResponse;
 import com.provider.registration.dto.ProviderRegistrationRequest;
 import com.provider.registration.dto.ProviderRegistrationResponse;
+import com.provider.registration.dto.ProviderSearchResponse;
+import com.provider.registration.dto.ProviderSuggestion;
+import com.provider.registration.model.VerificationStatus;
+import com.provider.registration.repository.ProviderSearchCriteria;
+import com.provider.registration.security.BoundedPasswordEncoder;
+import com.provider.registration.service.IdempotencyRegistry;
+import com.provider.registration.service.ProviderDirectoryIndex;
 import com.provider.registration.service.ProviderService;
 import javax.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -13,7 +23,9 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/providers")
@@ -21,32 +33,107 @@ import java.util.Map;
 @Slf4j
 public class ProviderController {
 
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final ProviderService providerService;
+    private final ProviderDirectoryIndex providerDirectoryIndex;
+    private final IdempotencyRegistry idempotencyRegistry;
 
     @PostMapping("/register")
     public ResponseEntity<ProviderRegistrationResponse> registerProvider(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody ProviderRegistrationRequest request) {
-        
-        log.info("Received provider registration request for email: {}", request.getEmail());
-        
+
         try {
-            ProviderRegistrationResponse response = providerService.registerProvider(request);
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+            if (idempotencyKey == null) {
+                return ResponseEntity.status(HttpStatus.CREATED).body(providerService.registerProvider(request));
+            }
+            // A retry of a registration that is running or has completed gets that attempt's result
+            // instead of hashing again and colliding with its own first attempt
+            IdempotencyRegistry.Result<ProviderRegistrationResponse> result = idempotencyRegistry.execute(
+                    idempotencyKey, request, () -> providerService.registerProvider(request));
+            ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.CREATED);
+            if (result.isReplayed()) {
+                response.header(IDEMPOTENT_REPLAYED_HEADER, "true");
+            }
+            return response.body(result.getResponse());
         } catch (ProviderService.DuplicateResourceException e) {
-            log.error("Duplicate resource error: {}", e.getMessage());
+            log.debug("Duplicate resource error: {}", e.getMessage());
             throw e;
         }
     }
 
+    @PostMapping("/register/batch")
+    public ResponseEntity<ProviderBatchRegistrationResponse> registerProviders(
+            @Valid @RequestBody ProviderBatchRegistrationRequest request) {
+
+        ProviderBatchRegistrationResponse response = providerService.registerProviders(request.getProviders());
+        HttpStatus status = response.getConflicts() == 0 ? HttpStatus.CREATED : HttpStatus.OK;
+        return ResponseEntity.status(status).body(response);
+    }
+
+    @GetMapping
+    public ResponseEntity<ProviderSearchResponse> searchProviders(
+            @RequestParam(required = false) String specialization,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String state,
+            @RequestParam(required = false) VerificationStatus verificationStatus,
+            @RequestParam(required = false) UUID cursor,
+            @RequestParam(defaultValue = "" + ProviderService.DEFAULT_PAGE_SIZE) int size) {
+
+        ProviderSearchCriteria criteria = new ProviderSearchCriteria(specialization, city, state, verificationStatus);
+        return ResponseEntity.ok(providerService.searchProviders(criteria, cursor, size));
+    }
+
+    // Served from the in-memory index; never touches the database
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProviderSuggestion>> suggestProviders(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "" + ProviderDirectoryIndex.DEFAULT_SUGGESTIONS) int limit) {
+        return ResponseEntity.ok(providerDirectoryIndex.suggest(q, limit));
+    }
+
     @ExceptionHandler(ProviderService.DuplicateResourceException.class)
-    public ResponseEntity<Map<String, String>> handleDuplicateResource(
+    public ResponseEntity<Map<String, Object>> handleDuplicateResource(
             ProviderService.DuplicateResourceException ex) {
-        Map<String, String> errorResponse = new HashMap<>();
+        Map<String, Object> errorResponse = new HashMap<>();
         errorResponse.put("error", "Conflict");
         errorResponse.put("message", ex.getMessage());
+        errorResponse.put("fields", ex.getFields());
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
     }
 
+    @ExceptionHandler({IdempotencyRegistry.InvalidKeyException.class, IdempotencyRegistry.KeyReusedException.class})
+    public ResponseEntity<Map<String, String>> handleIdempotencyKeyRejected(RuntimeException ex) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("error", "Unprocessable Entity");
+        errorResponse.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(errorResponse);
+    }
+
+    @ExceptionHandler(IdempotencyRegistry.RequestInProgressException.class)
+    public ResponseEntity<Map<String, String>> handleIdempotentRequestInProgress(
+            IdempotencyRegistry.RequestInProgressException ex) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("error", "Conflict");
+        errorResponse.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
+    @ExceptionHandler(BoundedPasswordEncoder.CapacityExceededException.class)
+    public ResponseEntity<Map<String, String>> handleHashingCapacityExceeded(
+            BoundedPasswordEncoder.CapacityExceededException ex) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("error", "Service Unavailable");
+        errorResponse.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidationExceptions(
             MethodArgumentNotValidException ex) {
@@ -58,7 +145,8 @@ public class ProviderController {
         ex.getBindingResult().getAllErrors().forEach((error) -> {
             String fieldName = ((FieldError) error).getField();
             String errorMessage = error.getDefaultMessage();
-            fieldErrors.put(fieldName, errorMessage);
+            // A field can fail several rules (e.g. each password policy rule), so keep all of them
+            fieldErrors.merge(fieldName, errorMessage, (first, second) -> first + "; " + second);
         });
         errorResponse.put("fieldErrors", fieldErrors);
         
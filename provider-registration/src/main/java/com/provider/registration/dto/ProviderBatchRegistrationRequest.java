@@ -0,0 +1,21 @@
+package com.provider.registration.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProviderBatchRegistrationRequest {
+
+    @NotEmpty(message = "At least one provider is required")
+    @Size(max = 1000, message = "A batch must not contain more than 1000 providers")
+    @Valid
+    private List<ProviderRegistrationRequest> providers;
+}
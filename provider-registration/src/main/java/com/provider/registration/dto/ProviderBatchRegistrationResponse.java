@@ -0,0 +1,34 @@
+package com.provider.registration.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProviderBatchRegistrationResponse {
+
+    private int total;
+    private int created;
+    private int conflicts;
+    private List<ItemResult> results;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResult {
+        private int index;
+        private Status status;
+        private ProviderRegistrationResponse provider;
+        private List<String> fields;
+        private String message;
+    }
+
+    public enum Status {
+        CREATED,
+        CONFLICT
+    }
+}
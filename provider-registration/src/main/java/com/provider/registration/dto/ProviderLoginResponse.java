@@ -24,6 +24,8 @@ public class ProviderLoginResponse {
         private String access_token;
         private Long expires_in;
         private String token_type;
+        private String refresh_token;
+        private Long refresh_expires_in;
         private ProviderData provider;
     }
     
@@ -0,0 +1,19 @@
+package com.provider.registration.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProviderSearchResponse {
+
+    private List<ProviderSummary> providers;
+    // Pass back as ?cursor= to fetch the next page; null on the last page
+    private UUID nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,19 @@
+package com.provider.registration.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProviderSuggestion {
+
+    private UUID id;
+    private String firstName;
+    private String lastName;
+    private String specialization;
+    private String city;
+}
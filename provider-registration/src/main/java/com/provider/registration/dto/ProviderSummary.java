@@ -0,0 +1,24 @@
+package com.provider.registration.dto;
+
+import com.provider.registration.model.VerificationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+// Directory listing row, constructed directly by the search query so passwordHash is never selected
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProviderSummary {
+
+    private UUID id;
+    private String firstName;
+    private String lastName;
+    private String specialization;
+    private Integer yearsOfExperience;
+    private String city;
+    private String state;
+    private VerificationStatus verificationStatus;
+}
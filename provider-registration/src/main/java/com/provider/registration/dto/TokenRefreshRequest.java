@@ -0,0 +1,17 @@
+package com.provider.registration.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotBlank;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRefreshRequest {
+
+    // Same key as in the login response, so clients can send back what they received
+    @NotBlank(message = "Refresh token is required")
+    private String refresh_token;
+}
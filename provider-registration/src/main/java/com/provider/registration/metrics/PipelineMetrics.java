@@ -0,0 +1,64 @@
+package com.provider.registration.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Stage and outcome timers for the login, token refresh and registration pipelines. Stage timers are
+ * published as provider.&lt;pipeline&gt;.stage{stage} and end-to-end timers as
+ * provider.&lt;pipeline&gt;{outcome}; percentile histograms are enabled for the provider prefix.
+ * Phases that need the database also record provider.&lt;pipeline&gt;.connection{phase}, the time
+ * a pooled connection is held (including pool wait and commit), so hashing never appears there.
+ */
+@Component
+public class PipelineMetrics {
+
+    public static final String LOGIN = "login";
+    public static final String REGISTRATION = "registration";
+    public static final String BATCH_REGISTRATION = "registration.batch";
+    public static final String TOKEN_REFRESH = "token.refresh";
+
+    private final MeterRegistry meterRegistry;
+
+    public PipelineMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public <T> T stage(String pipeline, String stage, Supplier<T> work) {
+        return stageTimer(pipeline, stage).record(work);
+    }
+
+    public void stage(String pipeline, String stage, Runnable work) {
+        stageTimer(pipeline, stage).record(work);
+    }
+
+    public <T> T connection(String pipeline, String phase, Supplier<T> work) {
+        return Timer.builder("provider." + pipeline + ".connection")
+                .tag("phase", phase)
+                .register(meterRegistry)
+                .record(work);
+    }
+
+    public void outcome(String pipeline, Timer.Sample sample, String outcome) {
+        sample.stop(Timer.builder("provider." + pipeline)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    public void duplicate(String field) {
+        meterRegistry.counter("provider.registration.duplicates", "field", field).increment();
+    }
+
+    private Timer stageTimer(String pipeline, String stage) {
+        return Timer.builder("provider." + pipeline + ".stage")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+}
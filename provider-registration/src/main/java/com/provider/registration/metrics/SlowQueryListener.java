@@ -0,0 +1,161 @@
+package com.provider.registration.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every JDBC statement and logs a sample of the slow ones on a background thread.
+ * The request thread only records the timer and, for a sampled slow statement, hands the raw
+ * execution info to a bounded queue; formatting and parameter masking happen off the hot path.
+ */
+@Component
+@Slf4j
+public class SlowQueryListener implements QueryExecutionListener, MeterBinder {
+
+    private final long thresholdMillis;
+    private final double sampleRate;
+    private final ThreadPoolExecutor executor;
+
+    // Bound by Spring once the registry exists; the registry itself depends on the DataSource
+    // (pool metrics), so the meters cannot be constructor-injected
+    private volatile Timer statementTimer;
+    private volatile Timer batchTimer;
+    private volatile Counter slowCounter;
+    private volatile Counter droppedCounter;
+
+    public SlowQueryListener(@Value("${db.slow-query.threshold-ms:200}") long thresholdMillis,
+                             @Value("${db.slow-query.sample-rate:1.0}") double sampleRate,
+                             @Value("${db.slow-query.queue-capacity:1000}") int queueCapacity) {
+        this.thresholdMillis = thresholdMillis;
+        this.sampleRate = sampleRate;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-logger");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        statementTimer = Timer.builder("db.query")
+                .tag("batch", "false")
+                .register(meterRegistry);
+        batchTimer = Timer.builder("db.query")
+                .tag("batch", "true")
+                .register(meterRegistry);
+        slowCounter = Counter.builder("db.query.slow")
+                .register(meterRegistry);
+        droppedCounter = Counter.builder("db.query.slow.dropped")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = execInfo.getElapsedTime();
+        Timer timer = execInfo.isBatch() ? batchTimer : statementTimer;
+        if (timer != null) {
+            timer.record(elapsed, TimeUnit.MILLISECONDS);
+        }
+        if (elapsed < thresholdMillis) {
+            return;
+        }
+        increment(slowCounter);
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        try {
+            executor.execute(() -> logSlowQuery(elapsed, execInfo.isBatch(), execInfo.getBatchSize(), queryInfoList));
+        } catch (RejectedExecutionException e) {
+            // The logger is behind; losing a sample beats blocking the request
+            increment(droppedCounter);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void logSlowQuery(long elapsed, boolean batch, int batchSize, List<QueryInfo> queryInfoList) {
+        for (QueryInfo queryInfo : queryInfoList) {
+            List<List<ParameterSetOperation>> parameterSets = queryInfo.getParametersList();
+            int bindCount = 0;
+            for (List<ParameterSetOperation> parameters : parameterSets) {
+                bindCount += parameters.size();
+            }
+            // Only the first parameter set is shown; batches repeat the same shape
+            String parameters = parameterSets.isEmpty() ? "[]" : maskParameters(parameterSets.get(0));
+            log.warn("Slow query: {} ms, batch={}, batchSize={}, binds={}, sql=[{}], params={}",
+                    elapsed, batch, batchSize, bindCount, queryInfo.getQuery(), parameters);
+        }
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    static String maskParameters(List<ParameterSetOperation> operations) {
+        List<ParameterSetOperation> sorted = new ArrayList<>(operations);
+        sorted.sort(Comparator.comparingInt(SlowQueryListener::parameterIndex));
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (ParameterSetOperation operation : sorted) {
+            Object[] args = operation.getArgs();
+            boolean setNull = "setNull".equals(operation.getMethod().getName());
+            joiner.add(setNull || args.length < 2 ? "null" : maskValue(args[1]));
+        }
+        return joiner.toString();
+    }
+
+    private static int parameterIndex(ParameterSetOperation operation) {
+        Object index = operation.getArgs()[0];
+        return index instanceof Integer ? (Integer) index : Integer.MAX_VALUE;
+    }
+
+    // Strings (emails, phone numbers, names, hashes) are reduced to their length; only
+    // non-identifying scalar types are shown as-is
+    static String maskValue(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Enum
+                || value instanceof TemporalAccessor || value instanceof Date) {
+            return value.toString();
+        }
+        if (value instanceof CharSequence) {
+            return "<string:" + ((CharSequence) value).length() + ">";
+        }
+        if (value instanceof byte[]) {
+            return "<binary:" + ((byte[]) value).length + ">";
+        }
+        return "<" + value.getClass().getSimpleName() + ">";
+    }
+}
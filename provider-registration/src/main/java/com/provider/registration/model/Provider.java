@@ -6,6 +6,7 @@ import javax.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -18,10 +19,30 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
+@Table(uniqueConstraints = {
+        // Uniqueness is enforced on the canonical forms, so differently formatted duplicates collide
+        @UniqueConstraint(name = Provider.EMAIL_CONSTRAINT, columnNames = "normalizedEmail"),
+        @UniqueConstraint(name = Provider.PHONE_NUMBER_CONSTRAINT, columnNames = "normalizedPhoneNumber"),
+        @UniqueConstraint(name = Provider.LICENSE_NUMBER_CONSTRAINT, columnNames = "normalizedLicenseNumber")
+}, indexes = {
+        // Keyset pagination for the directory search: equality filter first, then the id seek
+        @Index(name = "idx_provider_specialization_id", columnList = "specialization, id"),
+        @Index(name = "idx_provider_city_id", columnList = "city, id"),
+        @Index(name = "idx_provider_state_id", columnList = "state, id"),
+        @Index(name = "idx_provider_verification_status_id", columnList = "verificationStatus, id")
+})
 public class Provider {
+
+    public static final String EMAIL_CONSTRAINT = "uk_provider_email";
+    public static final String PHONE_NUMBER_CONSTRAINT = "uk_provider_phone_number";
+    public static final String LICENSE_NUMBER_CONSTRAINT = "uk_provider_license_number";
     
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    // Assigned in memory so inserts can be grouped into JDBC batches; time-ordered for index locality
+    @GeneratedValue(generator = "uuid7")
+    @GenericGenerator(name = "uuid7", strategy = TimeOrderedUuidGenerator.STRATEGY)
+    // Native 16-byte uuid; the default binary(255) is zero-padded, which breaks id range comparisons
+    @Column(columnDefinition = "uuid")
     private UUID id;
 
     @NotBlank(message = "First name is required")
@@ -34,12 +55,10 @@ public class Provider {
 
     @Email(message = "Email must be a valid email address")
     @NotBlank(message = "Email is required")
-    @Column(unique = true)
     private String email;
 
     @NotBlank(message = "Phone number is required")
     @Pattern(regexp = "^\\+?[1-9]\\d{1,14}$", message = "Phone number must be a valid international format")
-    @Column(unique = true)
     private String phoneNumber;
 
     @NotBlank(message = "Password hash is required")
@@ -51,9 +70,18 @@ public class Provider {
 
     @NotBlank(message = "License number is required")
     @Pattern(regexp = "^[a-zA-Z0-9]+$", message = "License number must contain only alphanumeric characters")
-    @Column(unique = true)
     private String licenseNumber;
 
+    // Canonical unique keys (ProviderKeyNormalizer); the fields above keep the values as submitted
+    @Column(nullable = false)
+    private String normalizedEmail;
+
+    @Column(nullable = false)
+    private String normalizedPhoneNumber;
+
+    @Column(nullable = false)
+    private String normalizedLicenseNumber;
+
     @Min(value = 0, message = "Years of experience cannot be negative")
     @Max(value = 50, message = "Years of experience cannot exceed 50")
     private Integer yearsOfExperience;
@@ -79,10 +107,19 @@ public class Provider {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        normalizeKeys();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        normalizeKeys();
+    }
+
+    // Derives the canonical keys from the submitted values, keeping both in step on every write
+    public void normalizeKeys() {
+        normalizedEmail = email == null ? null : ProviderKeyNormalizer.email(email);
+        normalizedPhoneNumber = phoneNumber == null ? null : ProviderKeyNormalizer.phoneNumber(phoneNumber);
+        normalizedLicenseNumber = licenseNumber == null ? null : ProviderKeyNormalizer.licenseNumber(licenseNumber);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.provider.registration.model;
+
+import java.util.Locale;
+
+/**
+ * Canonical forms of the provider unique keys. Registration stores them in the normalized_*
+ * columns and every lookup (duplicate check, login, rate limiting, caches) normalizes its input
+ * the same way, so a lookup is a single exact match on a unique index.
+ */
+public final class ProviderKeyNormalizer {
+
+    private ProviderKeyNormalizer() {
+    }
+
+    public static String email(String email) {
+        // Locale.ROOT: the default locale can map 'I' to a dotless i, which would split one address in two
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // E.164: '+' followed by the digits only. Registration accepts the number with or without the
+    // leading '+' and there is no default region, so the digits must already include the country code
+    public static String phoneNumber(String phoneNumber) {
+        StringBuilder normalized = new StringBuilder(phoneNumber.length() + 1).append('+');
+        for (int i = 0; i < phoneNumber.length(); i++) {
+            char c = phoneNumber.charAt(i);
+            if (c >= '0' && c <= '9') {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString();
+    }
+
+    public static String licenseNumber(String licenseNumber) {
+        return licenseNumber.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,53 @@
+package com.provider.registration.model;
+
+import javax.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Opaque refresh token, stored as its SHA-256 hash. Every rotation issues a new token in the same
+ * family and revokes the presented one, so presenting a revoked token reveals replay of a stolen copy.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "refresh_token", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_refresh_token_hash", columnNames = "tokenHash")
+}, indexes = {
+        @Index(name = "idx_refresh_token_family_id", columnList = "familyId"),
+        @Index(name = "idx_refresh_token_provider_id", columnList = "providerId"),
+        @Index(name = "idx_refresh_token_expires_at", columnList = "expiresAt")
+})
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(generator = "uuid7")
+    @GenericGenerator(name = "uuid7", strategy = TimeOrderedUuidGenerator.STRATEGY)
+    @Column(columnDefinition = "uuid")
+    private UUID id;
+
+    // Hex-encoded SHA-256 of the token; the raw value is only ever returned to the client
+    @Column(nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(nullable = false, columnDefinition = "uuid")
+    private UUID providerId;
+
+    @Column(nullable = false, columnDefinition = "uuid")
+    private UUID familyId;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // Set when the token is rotated or its family is revoked
+    private LocalDateTime revokedAt;
+}
@@ -0,0 +1,52 @@
+package com.provider.registration.model;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+import java.io.Serializable;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hibernate generator for time-ordered (version 7) UUIDs: a 48-bit Unix millisecond timestamp,
+ * a 12-bit sequence and 62 random bits. Consecutive ids land next to each other in the primary
+ * key index instead of at random pages, and they are assigned in memory, so inserts still batch.
+ * They share the uuid column type with the random (version 4) ids already stored.
+ *
+ * <p>Within one process ids are strictly increasing: the sequence counts up inside a millisecond
+ * and, if it overflows, borrows from the next millisecond rather than going backwards.
+ */
+public class TimeOrderedUuidGenerator implements IdentifierGenerator {
+
+    public static final String STRATEGY = "com.provider.registration.model.TimeOrderedUuidGenerator";
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final long VERSION = 7L << 12;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    // Millisecond timestamp and sequence of the last id, packed as timestamp << 12 | sequence
+    private static final AtomicLong LAST = new AtomicLong();
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) {
+        return nextUuid();
+    }
+
+    public static UUID nextUuid() {
+        long now = System.currentTimeMillis() << SEQUENCE_BITS;
+        long previous;
+        long next;
+        do {
+            previous = LAST.get();
+            next = Math.max(previous + 1, now);
+        } while (!LAST.compareAndSet(previous, next));
+
+        long timestamp = next >>> SEQUENCE_BITS;
+        long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+        long mostSignificant = timestamp << 16 | VERSION | sequence;
+        long leastSignificant = VARIANT | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+        return new UUID(mostSignificant, leastSignificant);
+    }
+}
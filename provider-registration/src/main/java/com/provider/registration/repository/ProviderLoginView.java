@@ -0,0 +1,22 @@
+package com.provider.registration.repository;
+
+import com.provider.registration.model.VerificationStatus;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// The columns login needs, constructed directly by the query; immutable and never attached to a persistence context
+@Value
+public class ProviderLoginView {
+
+    UUID id;
+    String firstName;
+    String lastName;
+    String email;
+    String passwordHash;
+    String specialization;
+    VerificationStatus verificationStatus;
+    boolean active;
+    LocalDateTime createdAt;
+}
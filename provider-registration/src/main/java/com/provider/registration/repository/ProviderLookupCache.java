@@ -0,0 +1,162 @@
+package com.provider.registration.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.provider.registration.model.Provider;
+import com.provider.registration.model.ProviderKeyNormalizer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Read-through cache in front of the login lookup by email. Misses are cached as well, with a
+ * shorter TTL, so repeated lookups of unknown emails stop reaching the database. Entries are
+ * {@link ProviderLoginView} projections rather than entities, keyed by the canonical email from
+ * {@link ProviderKeyNormalizer}, as stored in the indexed column.
+ *
+ * <p>Below the cache, misses go through a {@link SingleFlight} per lookup, so a burst of logins
+ * for the same email issues one query. The query runs outside the cache's map, so a slow load
+ * never blocks lookups of other keys.
+ */
+@Component
+public class ProviderLookupCache {
+
+    private final ProviderRepository providerRepository;
+    private final Lookup<String, ProviderLoginView> byEmail;
+    // Not cached: token refresh must see a deactivation at once, so only concurrent reads are shared
+    private final SingleFlight<UUID, Optional<ProviderLoginView>> loginViewById;
+
+    public ProviderLookupCache(ProviderRepository providerRepository,
+                               @Value("${provider.cache.max-size:100000}") long maxSize,
+                               @Value("${provider.cache.ttl:PT5M}") Duration ttl,
+                               @Value("${provider.cache.negative-ttl:PT30S}") Duration negativeTtl,
+                               MeterRegistry meterRegistry) {
+        this.providerRepository = providerRepository;
+        this.byEmail = new Lookup<>(providerRepository::findLoginViewByEmail, maxSize, ttl, negativeTtl,
+                meterRegistry, "providers.byEmail");
+        this.loginViewById = new SingleFlight<>("providers.loginViewById", meterRegistry);
+    }
+
+    public Optional<ProviderLoginView> findLoginViewByEmail(String email) {
+        return byEmail.get(email);
+    }
+
+    public Optional<ProviderLoginView> findLoginViewById(UUID id) {
+        return loginViewById.execute(id, providerRepository::findLoginViewById);
+    }
+
+    // Evicts after the surrounding transaction commits, so a concurrent reader cannot
+    // re-cache the pre-commit state in between
+    public void evict(Provider provider) {
+        afterCommit(() -> {
+            byEmail.invalidate(provider.getNormalizedEmail());
+            if (provider.getId() != null) {
+                loginViewById.forget(provider.getId());
+            }
+        });
+    }
+
+    public void evict(ProviderLoginView view) {
+        afterCommit(() -> {
+            byEmail.invalidate(ProviderKeyNormalizer.email(view.getEmail()));
+            loginViewById.forget(view.getId());
+        });
+    }
+
+    private static void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+    /**
+     * One cached lookup: a Caffeine cache of results over a single-flight loader.
+     */
+    private static class Lookup<K, V> {
+        private final Function<K, Optional<V>> loader;
+        private final Cache<K, Optional<V>> cache;
+        private final SingleFlight<K, Optional<V>> singleFlight;
+        // Bumped by every invalidation; a load that overlapped one does not keep its result cached
+        private final AtomicLong invalidations = new AtomicLong();
+
+        Lookup(Function<K, Optional<V>> loader, long maxSize, Duration ttl, Duration negativeTtl,
+               MeterRegistry meterRegistry, String name) {
+            this.loader = loader;
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfter(new LookupExpiry<K, V>(ttl, negativeTtl))
+                    .recordStats()
+                    .build();
+            this.singleFlight = new SingleFlight<>(name, meterRegistry);
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        }
+
+        Optional<V> get(K key) {
+            Optional<V> cached = cache.getIfPresent(key);
+            if (cached != null) {
+                return cached;
+            }
+            return singleFlight.execute(key, this::load);
+        }
+
+        void invalidate(K key) {
+            invalidations.incrementAndGet();
+            singleFlight.forget(key);
+            cache.invalidate(key);
+        }
+
+        private Optional<V> load(K key) {
+            long seen = invalidations.get();
+            Optional<V> value = loader.apply(key);
+            cache.put(key, value);
+            // An invalidation during the query may already have run before the put above; the
+            // value may predate the change, so take it back out rather than serve it for the TTL
+            if (invalidations.get() != seen) {
+                cache.asMap().remove(key, value);
+            }
+            return value;
+        }
+    }
+
+    private static class LookupExpiry<K, V> implements Expiry<K, Optional<V>> {
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        LookupExpiry(Duration ttl, Duration negativeTtl) {
+            this.ttlNanos = ttl.toNanos();
+            this.negativeTtlNanos = negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(K key, Optional<V> value, long currentTime) {
+            return value.isPresent() ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(K key, Optional<V> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(K key, Optional<V> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
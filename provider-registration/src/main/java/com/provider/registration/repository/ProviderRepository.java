@@ -1,24 +1,78 @@
 package com.provider.registration.repository;
 
+import com.provider.registration.dto.ProviderSummary;
 import com.provider.registration.model.Provider;
+import javax.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProviderRepository extends JpaRepository<Provider, UUID> {
-    
-    Optional<Provider> findByEmail(String email);
-    
-    Optional<Provider> findByPhoneNumber(String phoneNumber);
-    
-    Optional<Provider> findByLicenseNumber(String licenseNumber);
-    
-    boolean existsByEmail(String email);
-    
-    boolean existsByPhoneNumber(String phoneNumber);
+public interface ProviderRepository extends JpaRepository<Provider, UUID>, ProviderSearchRepository {
+
+    // Native projection onto ProviderUniqueKeys; the aliases are quoted so H2 keeps their case
+    String UNIQUE_KEY_COLUMNS = "normalized_email as \"email\", normalized_phone_number as \"phoneNumber\", " +
+            "normalized_license_number as \"licenseNumber\"";
+
+    // Constructor projection for login: no entity is instantiated, so there is nothing to
+    // snapshot for dirty checking and nothing retained in the persistence context
+    @Transactional(readOnly = true)
+    @Query("select new com.provider.registration.repository.ProviderLoginView(p.id, p.firstName, p.lastName, " +
+           "p.email, p.passwordHash, p.specialization, p.verificationStatus, p.isActive, p.createdAt) " +
+           "from Provider p where p.normalizedEmail = :email")
+    Optional<ProviderLoginView> findLoginViewByEmail(@Param("email") String email);
+
+    @Transactional(readOnly = true)
+    @Query("select new com.provider.registration.repository.ProviderLoginView(p.id, p.firstName, p.lastName, " +
+           "p.email, p.passwordHash, p.specialization, p.verificationStatus, p.isActive, p.createdAt) " +
+           "from Provider p where p.id = :id")
+    Optional<ProviderLoginView> findLoginViewById(@Param("id") UUID id);
+
+    // Bulk update bypasses @PreUpdate, so updatedAt is set explicitly
+    @Transactional
+    @Modifying
+    @Query("update Provider p set p.passwordHash = :passwordHash, p.updatedAt = :updatedAt where p.id = :id")
+    int updatePasswordHash(@Param("id") UUID id,
+                           @Param("passwordHash") String passwordHash,
+                           @Param("updatedAt") LocalDateTime updatedAt);
     
-    boolean existsByLicenseNumber(String licenseNumber);
+    // Checks all three unique keys in a single round trip. A union of one exact match per unique
+    // index: H2 cannot use an index for an OR across different columns and would scan the table
+    @Query(value = "select " + UNIQUE_KEY_COLUMNS + " from provider where normalized_email = :email " +
+                   "union select " + UNIQUE_KEY_COLUMNS + " from provider where normalized_phone_number = :phoneNumber " +
+                   "union select " + UNIQUE_KEY_COLUMNS + " from provider where normalized_license_number = :licenseNumber",
+           nativeQuery = true)
+    List<ProviderUniqueKeys> findConflictingKeys(@Param("email") String email,
+                                                 @Param("phoneNumber") String phoneNumber,
+                                                 @Param("licenseNumber") String licenseNumber);
+
+    @Query(value = "select " + UNIQUE_KEY_COLUMNS + " from provider where normalized_email in :emails " +
+                   "union select " + UNIQUE_KEY_COLUMNS + " from provider where normalized_phone_number in :phoneNumbers " +
+                   "union select " + UNIQUE_KEY_COLUMNS + " from provider where normalized_license_number in :licenseNumbers",
+           nativeQuery = true)
+    List<ProviderUniqueKeys> findConflictingKeysIn(@Param("emails") Collection<String> emails,
+                                                   @Param("phoneNumbers") Collection<String> phoneNumbers,
+                                                   @Param("licenseNumbers") Collection<String> licenseNumbers);
+
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select p.normalizedEmail as email, p.normalizedPhoneNumber as phoneNumber, " +
+           "p.normalizedLicenseNumber as licenseNumber from Provider p")
+    Stream<ProviderUniqueKeys> streamAllKeys();
+
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.provider.registration.dto.ProviderSummary(p.id, p.firstName, p.lastName, " +
+           "p.specialization, p.yearsOfExperience, p.clinicAddress.city, p.clinicAddress.state, p.verificationStatus) " +
+           "from Provider p where p.isActive = true")
+    Stream<ProviderSummary> streamActiveSummaries();
 }
@@ -0,0 +1,18 @@
+package com.provider.registration.repository;
+
+import com.provider.registration.model.VerificationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Exact-match filters; null fields are not applied
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProviderSearchCriteria {
+
+    private String specialization;
+    private String city;
+    private String state;
+    private VerificationStatus verificationStatus;
+}
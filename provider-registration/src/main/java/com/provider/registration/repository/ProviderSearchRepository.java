@@ -0,0 +1,12 @@
+package com.provider.registration.repository;
+
+import com.provider.registration.dto.ProviderSummary;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ProviderSearchRepository {
+
+    // Keyset page of active providers ordered by id, starting after the given id (or from the start when null)
+    List<ProviderSummary> search(ProviderSearchCriteria criteria, UUID after, int limit);
+}
@@ -0,0 +1,67 @@
+package com.provider.registration.repository;
+
+import com.provider.registration.dto.ProviderSummary;
+import com.provider.registration.model.ClinicAddress;
+import com.provider.registration.model.Provider;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+class ProviderSearchRepositoryImpl implements ProviderSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ProviderSummary> search(ProviderSearchCriteria criteria, UUID after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProviderSummary> query = cb.createQuery(ProviderSummary.class);
+        Root<Provider> provider = query.from(Provider.class);
+        Path<ClinicAddress> address = provider.get("clinicAddress");
+        Path<UUID> id = provider.get("id");
+
+        query.select(cb.construct(ProviderSummary.class,
+                id,
+                provider.get("firstName"),
+                provider.get("lastName"),
+                provider.get("specialization"),
+                provider.get("yearsOfExperience"),
+                address.get("city"),
+                address.get("state"),
+                provider.get("verificationStatus")));
+
+        // Equality filters line up with the (column, id) indexes on Provider, so the seek on id stays an index range
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.isTrue(provider.get("isActive")));
+        if (criteria.getSpecialization() != null) {
+            predicates.add(cb.equal(provider.get("specialization"), criteria.getSpecialization()));
+        }
+        if (criteria.getCity() != null) {
+            predicates.add(cb.equal(address.get("city"), criteria.getCity()));
+        }
+        if (criteria.getState() != null) {
+            predicates.add(cb.equal(address.get("state"), criteria.getState()));
+        }
+        if (criteria.getVerificationStatus() != null) {
+            predicates.add(cb.equal(provider.get("verificationStatus"), criteria.getVerificationStatus()));
+        }
+        if (after != null) {
+            predicates.add(cb.greaterThan(id, after));
+        }
+
+        query.where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,11 @@
+package com.provider.registration.repository;
+
+// Canonical key values, as stored in the normalized_* columns
+public interface ProviderUniqueKeys {
+
+    String getEmail();
+
+    String getPhoneNumber();
+
+    String getLicenseNumber();
+}
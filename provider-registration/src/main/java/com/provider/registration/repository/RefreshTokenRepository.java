@@ -0,0 +1,37 @@
+package com.provider.registration.repository;
+
+import com.provider.registration.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    // Conditional on revokedAt, so of two concurrent rotations of the same token only one succeeds
+    @Modifying
+    @Query("update RefreshToken t set t.revokedAt = :revokedAt where t.id = :id and t.revokedAt is null")
+    int revokeIfActive(@Param("id") UUID id, @Param("revokedAt") LocalDateTime revokedAt);
+
+    @Modifying
+    @Query("update RefreshToken t set t.revokedAt = :revokedAt where t.familyId = :familyId and t.revokedAt is null")
+    int revokeFamily(@Param("familyId") UUID familyId, @Param("revokedAt") LocalDateTime revokedAt);
+
+    @Modifying
+    @Query("update RefreshToken t set t.revokedAt = :revokedAt where t.providerId = :providerId and t.revokedAt is null")
+    int revokeAllForProvider(@Param("providerId") UUID providerId, @Param("revokedAt") LocalDateTime revokedAt);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken t where t.expiresAt < :cutoff")
+    int deleteExpiredBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,84 @@
+package com.provider.registration.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent identical reads: the first caller for a key runs the query on its own
+ * thread and every caller arriving while it runs waits for and shares that result. Calls are
+ * tracked per key, so a slow query only holds up callers of the same key, and all of them are
+ * released together when it completes. Nothing is retained once the query returns; caching is
+ * left to the layer above.
+ *
+ * <p>Published as provider.lookup.queries{lookup, result=issued|coalesced}.
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+    private final Counter issuedCounter;
+    private final Counter coalescedCounter;
+
+    public SingleFlight(String lookup, MeterRegistry meterRegistry) {
+        this.issuedCounter = counter(meterRegistry, lookup, "issued");
+        this.coalescedCounter = counter(meterRegistry, lookup, "coalesced");
+        Gauge.builder("provider.lookup.in.flight", calls, Map::size)
+                .tag("lookup", lookup)
+                .register(meterRegistry);
+    }
+
+    public V execute(K key, Function<? super K, ? extends V> query) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> running = calls.putIfAbsent(key, call);
+        if (running != null) {
+            coalescedCounter.increment();
+            return await(running);
+        }
+
+        issuedCounter.increment();
+        try {
+            V value = query.apply(key);
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            // Waiting callers share the failure; the next caller issues a new query
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(key, call);
+        }
+    }
+
+    // Callers arriving after this start a new query instead of joining one that may have read
+    // the row before a change committed
+    public void forget(K key) {
+        calls.remove(key);
+    }
+
+    private static <V> V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String lookup, String result) {
+        return Counter.builder("provider.lookup.queries")
+                .tag("lookup", lookup)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,42 @@
+package com.provider.registration.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Picks the highest BCrypt cost whose hash time on this machine stays within a target latency.
+ */
+@Slf4j
+public final class BCryptStrengthCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "Calibration-Passw0rd!";
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    public static int calibrate(long targetLatencyMs, int minStrength, int maxStrength) {
+        // Warm up so the first measurement is not dominated by class loading and JIT
+        new BCryptPasswordEncoder(minStrength).encode(SAMPLE_PASSWORD);
+
+        int chosen = minStrength;
+        for (int strength = minStrength; strength <= maxStrength; strength++) {
+            long elapsedMs = measure(strength);
+            log.info("BCrypt cost {} took {} ms", strength, elapsedMs);
+            if (elapsedMs > targetLatencyMs) {
+                break;
+            }
+            chosen = strength;
+        }
+        log.info("Calibrated BCrypt cost {} for a target latency of {} ms", chosen, targetLatencyMs);
+        return chosen;
+    }
+
+    private static long measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long start = System.nanoTime();
+        encoder.encode(SAMPLE_PASSWORD);
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
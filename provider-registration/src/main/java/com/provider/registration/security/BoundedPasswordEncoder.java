@@ -0,0 +1,206 @@
+package com.provider.registration.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing on a dedicated, size-bounded pool instead of the servlet thread,
+ * so a login storm can only occupy as many cores as the pool has and excess work is
+ * rejected immediately instead of piling up behind BCrypt.
+ *
+ * <p>Batches go through {@link #encodeAll} and are admitted separately: they get pool-size
+ * slots of their own and wait for one instead of being rejected, while single requests keep
+ * their pool-size + queue-capacity places whatever the batches are doing.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Semaphore requestSlots;
+    private final Semaphore batchSlots;
+    private final long retryAfterSeconds;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejectedCounter;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int poolSize, int queueCapacity,
+                                  long retryAfterSeconds, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.retryAfterSeconds = retryAfterSeconds;
+        // Admission is decided by the slots; the queue holds everything they can admit at once
+        this.requestSlots = new Semaphore(poolSize + queueCapacity);
+        this.batchSlots = new Semaphore(poolSize);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(poolSize + queueCapacity + poolSize), new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("password.hashing.duration")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hashing.duration")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("password.hashing.queue.wait")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("password.hashing.rejected")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.queue.depth", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+
+        log.info("Password hashing pool started with {} threads and a queue of {}", poolSize, queueCapacity);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> encodeTimer.record(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * Hashes a batch, driven from the calling thread. Each hash holds a batch slot from submit
+     * until its result is taken, so a batch of any size is fed in as slots free up instead of
+     * being rejected, and batches never take the places single requests are admitted to.
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        String[] hashes = new String[rawPasswords.size()];
+        Deque<Future<String>> inFlight = new ArrayDeque<>();
+        int submitted = 0;
+        int completed = 0;
+        try {
+            while (completed < hashes.length) {
+                // Only a batch with nothing in flight waits for a slot; otherwise it collects a result first
+                while (submitted < hashes.length && acquireBatchSlot(inFlight.isEmpty())) {
+                    CharSequence rawPassword = rawPasswords.get(submitted);
+                    try {
+                        inFlight.addLast(enqueue(() -> encodeTimer.record(() -> delegate.encode(rawPassword))));
+                    } catch (RuntimeException e) {
+                        batchSlots.release();
+                        throw e;
+                    }
+                    submitted++;
+                }
+                Future<String> oldest = inFlight.removeFirst();
+                try {
+                    hashes[completed++] = await(oldest);
+                } finally {
+                    batchSlots.release();
+                }
+            }
+        } finally {
+            // Only reached with work left on failure: withdraw it and hand its slots back
+            for (Future<String> future : inFlight) {
+                future.cancel(true);
+                batchSlots.release();
+            }
+        }
+        return Arrays.asList(hashes);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        if (!requestSlots.tryAcquire()) {
+            rejectedCounter.increment();
+            throw new CapacityExceededException(retryAfterSeconds);
+        }
+        try {
+            return await(enqueue(task));
+        } finally {
+            requestSlots.release();
+        }
+    }
+
+    private boolean acquireBatchSlot(boolean wait) {
+        if (!wait) {
+            return batchSlots.tryAcquire();
+        }
+        try {
+            batchSlots.acquire();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        }
+    }
+
+    private <T> Future<T> enqueue(Callable<T> task) {
+        long enqueuedAt = System.nanoTime();
+        return executor.submit(() -> {
+            queueWaitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+            return task.call();
+        });
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static class HashingThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    public static class CapacityExceededException extends RuntimeException {
+        private final long retryAfterSeconds;
+
+        public CapacityExceededException(long retryAfterSeconds) {
+            super("Service is busy. Please retry shortly.");
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
+}
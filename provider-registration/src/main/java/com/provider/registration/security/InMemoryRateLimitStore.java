@@ -0,0 +1,96 @@
+package com.provider.registration.security;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token buckets. Each bucket is a single long updated by CAS, holding the last refill
+ * time in the upper 44 bits and the token count in thousandths in the lower 20 bits, so a
+ * request costs no allocation once its bucket exists.
+ */
+@Component
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private static final int TOKEN_BITS = 20;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long MILLI_TOKENS = 1000;
+    static final int MAX_CAPACITY = (int) (TOKEN_MASK / MILLI_TOKENS);
+
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final LongSupplier clock;
+    private final long epoch;
+
+    public InMemoryRateLimitStore() {
+        this(System::currentTimeMillis);
+    }
+
+    InMemoryRateLimitStore(LongSupplier clock) {
+        this.clock = clock;
+        this.epoch = clock.getAsLong();
+    }
+
+    @Override
+    public long tryConsume(String key, int capacity, double refillPerSecond) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY);
+        }
+        long now = clock.getAsLong() - epoch;
+        long capacityMilli = capacity * MILLI_TOKENS;
+        Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(pack(now, capacityMilli)));
+
+        while (true) {
+            long state = bucket.state;
+            long last = state >>> TOKEN_BITS;
+            long tokens = state & TOKEN_MASK;
+
+            // Only advance the refill time by what was actually credited, so frequent calls
+            // cannot swallow the fractional refill of a slow bucket
+            long gained = (long) (Math.max(0, now - last) * refillPerSecond);
+            long refilled;
+            long refilledAt;
+            if (tokens + gained >= capacityMilli) {
+                refilled = capacityMilli;
+                refilledAt = Math.max(now, last);
+            } else {
+                refilled = tokens + gained;
+                refilledAt = last + (long) (gained / refillPerSecond);
+            }
+
+            if (refilled < MILLI_TOKENS) {
+                long missing = MILLI_TOKENS - refilled;
+                return Math.max(1, (long) Math.ceil(missing / refillPerSecond));
+            }
+            if (Bucket.STATE.compareAndSet(bucket, state, pack(refilledAt, refilled - MILLI_TOKENS))) {
+                return 0;
+            }
+        }
+    }
+
+    @Override
+    public void evictIdle(long idleMillis) {
+        long cutoff = clock.getAsLong() - epoch - idleMillis;
+        buckets.values().removeIf(bucket -> (bucket.state >>> TOKEN_BITS) < cutoff);
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private static long pack(long timeMillis, long milliTokens) {
+        return (timeMillis << TOKEN_BITS) | milliTokens;
+    }
+
+    private static final class Bucket {
+        static final AtomicLongFieldUpdater<Bucket> STATE =
+                AtomicLongFieldUpdater.newUpdater(Bucket.class, "state");
+
+        volatile long state;
+
+        Bucket(long state) {
+            this.state = state;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.provider.registration.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+// Authenticates bearer tokens from the token claims alone, without a database lookup
+@RequiredArgsConstructor
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final List<GrantedAuthority> PROVIDER_AUTHORITIES =
+            Collections.singletonList(new SimpleGrantedAuthority("ROLE_PROVIDER"));
+
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            try {
+                verifiedTokenCache.verify(header.substring(BEARER_PREFIX.length())).ifPresent(token -> {
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(token, null, PROVIDER_AUTHORITIES);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                });
+            } catch (TokenRevocationList.UnavailableException e) {
+                // Fail closed: without the revocation list a revoked token looks valid
+                response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.getWriter().write("{\"success\":\"false\",\"message\":\"" + e.getMessage() + "\"}");
+                return;
+            }
+        }
+        chain.doFilter(request, response);
+    }
+}
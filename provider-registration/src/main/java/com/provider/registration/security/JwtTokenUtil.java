@@ -6,16 +6,21 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 @Component
 @Slf4j
 public class JwtTokenUtil {
 
+    private static final String ISSUED_AT_MILLIS_CLAIM = "issued_at_ms";
+
     @Value("${jwt.secret}")
     private String secret;
 
@@ -25,8 +30,16 @@ public class JwtTokenUtil {
     @Value("${jwt.issuer}")
     private String issuer;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    // Both are immutable and thread-safe, so they are built once instead of per token
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
     }
 
     public String generateToken(UUID providerId, String email, String specialization) {
@@ -42,23 +55,50 @@ public class JwtTokenUtil {
     private String createToken(Map<String, Object> claims, String subject) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration * 1000);
+        // iat has whole-second precision; revocation cutoffs need to order tokens within a second
+        claims.put(ISSUED_AT_MILLIS_CLAIM, now.getTime());
 
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(subject)
                 .setIssuer(issuer)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
     public Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtParser.parseClaimsJws(token).getBody();
+    }
+
+    // Verifies the signature and expiry once and returns everything callers need from the token
+    public ParsedToken parseToken(String token) {
+        Claims claims = extractAllClaims(token);
+        return new ParsedToken(
+                claims.getSubject(),
+                UUID.fromString(claims.get("provider_id", String.class)),
+                claims.get("specialization", String.class),
+                claims.getExpiration(),
+                claims.getId() == null ? null : UUID.fromString(claims.getId()),
+                issuedAt(claims)
+        );
+    }
+
+    // Tokens issued before the millisecond claim was added fall back to iat
+    private static Date issuedAt(Claims claims) {
+        Long issuedAtMillis = claims.get(ISSUED_AT_MILLIS_CLAIM, Long.class);
+        return issuedAtMillis != null ? new Date(issuedAtMillis) : claims.getIssuedAt();
+    }
+
+    public Optional<ParsedToken> parseValidToken(String token) {
+        try {
+            return Optional.of(parseToken(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            log.error("Invalid JWT token: {}", e.getMessage());
+            return Optional.empty();
+        }
     }
 
     public String extractEmail(String token) {
@@ -87,17 +127,9 @@ public class JwtTokenUtil {
         }
     }
 
+    // The parser already rejects expired tokens, so a single parse covers both checks
     public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return !isTokenExpired(token);
-        } catch (JwtException | IllegalArgumentException e) {
-            log.error("Invalid JWT token: {}", e.getMessage());
-            return false;
-        }
+        return parseValidToken(token).isPresent();
     }
 
     public Long getExpirationTime() {
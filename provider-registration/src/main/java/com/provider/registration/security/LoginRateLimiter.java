@@ -0,0 +1,84 @@
+package com.provider.registration.security;
+
+import com.provider.registration.model.ProviderKeyNormalizer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Per-client-IP and per-email token buckets checked before any repository or BCrypt work on
+ * the login path. An exhausted email bucket acts as a temporary lockout for that account.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final RateLimitStore rateLimitStore;
+    private final int ipCapacity;
+    private final double ipRefillPerSecond;
+    private final int emailCapacity;
+    private final double emailRefillPerSecond;
+    private final long idleEvictionMillis;
+
+    private final Counter ipRejections;
+    private final Counter emailRejections;
+
+    public LoginRateLimiter(RateLimitStore rateLimitStore,
+                            @Value("${login.rate-limit.ip.capacity:20}") int ipCapacity,
+                            @Value("${login.rate-limit.ip.refill-per-minute:20}") double ipRefillPerMinute,
+                            @Value("${login.rate-limit.email.capacity:5}") int emailCapacity,
+                            @Value("${login.rate-limit.email.refill-per-minute:5}") double emailRefillPerMinute,
+                            @Value("${login.rate-limit.idle-eviction:PT10M}") Duration idleEviction,
+                            MeterRegistry meterRegistry) {
+        this.rateLimitStore = rateLimitStore;
+        this.ipCapacity = ipCapacity;
+        this.ipRefillPerSecond = ipRefillPerMinute / 60.0;
+        this.emailCapacity = emailCapacity;
+        this.emailRefillPerSecond = emailRefillPerMinute / 60.0;
+        this.idleEvictionMillis = idleEviction.toMillis();
+
+        this.ipRejections = Counter.builder("login.rate.limited")
+                .tag("scope", "ip")
+                .register(meterRegistry);
+        this.emailRejections = Counter.builder("login.rate.limited")
+                .tag("scope", "email")
+                .register(meterRegistry);
+    }
+
+    public void checkLogin(String email, String clientIp) {
+        // The IP bucket goes first so one noisy client cannot drain the buckets of the accounts it targets
+        long ipWait = rateLimitStore.tryConsume("ip:" + clientIp, ipCapacity, ipRefillPerSecond);
+        if (ipWait > 0) {
+            ipRejections.increment();
+            throw new RateLimitExceededException(ipWait);
+        }
+
+        long emailWait = rateLimitStore.tryConsume("email:" + ProviderKeyNormalizer.email(email), emailCapacity,
+                emailRefillPerSecond);
+        if (emailWait > 0) {
+            emailRejections.increment();
+            throw new RateLimitExceededException(emailWait);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${login.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        rateLimitStore.evictIdle(idleEvictionMillis);
+    }
+
+    public static class RateLimitExceededException extends RuntimeException {
+        private final long retryAfterSeconds;
+
+        public RateLimitExceededException(long retryAfterMillis) {
+            super("Too many login attempts. Please try again later.");
+            this.retryAfterSeconds = Math.max(1, (retryAfterMillis + 999) / 1000);
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
+}
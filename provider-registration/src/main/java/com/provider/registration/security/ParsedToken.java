@@ -0,0 +1,17 @@
+package com.provider.registration.security;
+
+import lombok.Value;
+
+import java.util.Date;
+import java.util.UUID;
+
+@Value
+public class ParsedToken {
+    String email;
+    UUID providerId;
+    String specialization;
+    Date expiration;
+    // jti; null for tokens issued before the claim was added
+    UUID tokenId;
+    Date issuedAt;
+}
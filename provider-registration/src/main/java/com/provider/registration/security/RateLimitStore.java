@@ -0,0 +1,20 @@
+package com.provider.registration.security;
+
+/**
+ * Token-bucket storage behind the login rate limiter. The in-memory implementation serves a
+ * single node; a shared store can implement the same contract to limit across instances.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Takes one token from the bucket for {@code key}, creating a full bucket on first use.
+     *
+     * @return 0 when a token was taken, otherwise the milliseconds until the next token is available
+     */
+    long tryConsume(String key, int capacity, double refillPerSecond);
+
+    /**
+     * Drops buckets that have not been touched for at least {@code idleMillis}.
+     */
+    void evictIdle(long idleMillis);
+}
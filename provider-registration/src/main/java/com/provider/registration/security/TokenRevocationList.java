@@ -0,0 +1,362 @@
+package com.provider.registration.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Revoked access tokens, checked on every authenticated request. Token ids (jti) are grouped
+ * into buckets by expiry time, so a lookup touches exactly one bucket and whole buckets are
+ * dropped once their tokens would have expired anyway. Provider-wide revocations (logout
+ * everywhere) reject every token issued at or before a millisecond cutoff, so a login in the
+ * same second after the revocation is still accepted.
+ *
+ * <p>When jwt.revocation.file is set, revocations are appended to it and replayed on first use
+ * after a restart; the purge rewrites it without the expired entries. A file that cannot be
+ * replayed is reported once and the list then fails closed until the process restarts.
+ */
+@Component
+@Slf4j
+public class TokenRevocationList {
+
+    private static final String TOKEN_RECORD = "T";
+    // Provider cutoffs in epoch milliseconds; "P" records from older files hold epoch seconds
+    private static final String PROVIDER_RECORD = "PM";
+    private static final String LEGACY_PROVIDER_RECORD = "P";
+
+    private final long bucketSeconds;
+    private final long maxTokenLifetimeSeconds;
+    private final Path file;
+
+    private final Map<Long, Bucket> buckets = new ConcurrentHashMap<>();
+    // providerId -> cutoff (epoch millis); dropped once the tokens issued up to it have expired
+    private final Map<UUID, Long> providerCutoffs = new ConcurrentHashMap<>();
+    private final Object fileLock = new Object();
+
+    private volatile boolean loaded;
+    private volatile Exception loadFailure;
+    private int fileRecords;
+
+    public TokenRevocationList(@Value("${jwt.revocation.bucket-seconds:60}") long bucketSeconds,
+                               @Value("${jwt.expiration}") long maxTokenLifetimeSeconds,
+                               @Value("${jwt.revocation.file:}") String file,
+                               MeterRegistry meterRegistry) {
+        this.bucketSeconds = bucketSeconds;
+        this.maxTokenLifetimeSeconds = maxTokenLifetimeSeconds;
+        // Without a file the list lives as long as the process, like the in-memory database
+        this.file = file == null || file.isEmpty() ? null : Paths.get(file);
+        this.loaded = this.file == null;
+
+        Gauge.builder("jwt.revocation.tokens", this, TokenRevocationList::getRevokedTokenCount)
+                .register(meterRegistry);
+        Gauge.builder("jwt.revocation.providers", providerCutoffs, Map::size)
+                .register(meterRegistry);
+    }
+
+    public boolean isRevoked(ParsedToken token) {
+        ensureLoaded();
+        if (buckets.isEmpty() && providerCutoffs.isEmpty()) {
+            return false;
+        }
+        Long cutoff = providerCutoffs.get(token.getProviderId());
+        if (cutoff != null && token.getIssuedAt() != null && token.getIssuedAt().getTime() <= cutoff) {
+            return true;
+        }
+        if (token.getTokenId() == null) {
+            return false;
+        }
+        Bucket bucket = buckets.get(bucketIndex(token.getExpiration().getTime() / 1000));
+        return bucket != null && bucket.contains(token.getTokenId());
+    }
+
+    // Revokes a single access token until it expires
+    public void revoke(ParsedToken token) {
+        if (token.getTokenId() == null) {
+            return;
+        }
+        long expiresAt = token.getExpiration().getTime() / 1000;
+        if (expiresAt <= nowSeconds()) {
+            return;
+        }
+        ensureLoaded();
+        // Memory first: a compaction in between then rewrites the entry instead of losing it
+        addToken(token.getTokenId(), expiresAt);
+        append(TOKEN_RECORD + " " + token.getTokenId() + " " + expiresAt);
+    }
+
+    // Revokes every token issued to the provider up to this millisecond
+    public void revokeProvider(UUID providerId) {
+        long cutoff = System.currentTimeMillis();
+        ensureLoaded();
+        addProvider(providerId, cutoff);
+        append(PROVIDER_RECORD + " " + providerId + " " + cutoff);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        if (!loaded) {
+            return;
+        }
+        long now = nowSeconds();
+        long currentBucket = bucketIndex(now);
+        // A bucket may still hold unexpired tokens until the whole bucket interval has passed
+        buckets.keySet().removeIf(index -> index < currentBucket);
+        providerCutoffs.values().removeIf(cutoff -> cutoff / 1000 + maxTokenLifetimeSeconds < now);
+        compact();
+    }
+
+    public long getRevokedTokenCount() {
+        long count = 0;
+        for (Bucket bucket : buckets.values()) {
+            count += bucket.size();
+        }
+        return count;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (fileLock) {
+            if (loaded) {
+                return;
+            }
+            // A failed load is not retried: the file is read once, not on every request
+            if (loadFailure == null) {
+                try {
+                    load();
+                    loaded = true;
+                    return;
+                } catch (IOException | RuntimeException e) {
+                    loadFailure = e;
+                    log.error("Could not load token revocation list from {}; rejecting authenticated "
+                            + "requests until restart", file, e);
+                }
+            }
+            throw new UnavailableException(loadFailure);
+        }
+    }
+
+    // Starting without the list would silently re-admit revoked tokens, so any bad record fails the load
+    private void load() throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        long now = nowSeconds();
+        int records = 0;
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            String[] fields = line.split(" ");
+            if (fields.length != 3) {
+                continue;
+            }
+            records++;
+            long time = Long.parseLong(fields[2]);
+            if (TOKEN_RECORD.equals(fields[0]) && time > now) {
+                addToken(UUID.fromString(fields[1]), time);
+            } else if (PROVIDER_RECORD.equals(fields[0]) && time / 1000 + maxTokenLifetimeSeconds >= now) {
+                addProvider(UUID.fromString(fields[1]), time);
+            } else if (LEGACY_PROVIDER_RECORD.equals(fields[0]) && time + maxTokenLifetimeSeconds >= now) {
+                // Second cutoffs covered the whole second
+                addProvider(UUID.fromString(fields[1]), time * 1000 + 999);
+            }
+        }
+        fileRecords = records;
+        log.info("Loaded token revocation list: {} tokens, {} providers",
+                getRevokedTokenCount(), providerCutoffs.size());
+    }
+
+    private void append(String record) {
+        if (file == null) {
+            return;
+        }
+        synchronized (fileLock) {
+            try {
+                createParentDirectories();
+                try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    writer.write(record);
+                    writer.newLine();
+                }
+                fileRecords++;
+            } catch (IOException e) {
+                // The revocation still applies in memory; it is only lost if the process restarts
+                log.error("Could not persist token revocation: {}", e.getMessage());
+            }
+        }
+    }
+
+    // Rewrites the file with the live entries once most of its records have expired
+    private void compact() {
+        if (file == null) {
+            return;
+        }
+        synchronized (fileLock) {
+            List<String> records = new ArrayList<>();
+            buckets.values().forEach(bucket -> bucket.writeTo(records));
+            providerCutoffs.forEach((providerId, cutoff) ->
+                    records.add(PROVIDER_RECORD + " " + providerId + " " + cutoff));
+            if (fileRecords <= 2 * records.size() + 100) {
+                return;
+            }
+            try {
+                createParentDirectories();
+                Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+                Files.write(temp, records, StandardCharsets.UTF_8);
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                fileRecords = records.size();
+            } catch (IOException e) {
+                log.warn("Could not compact token revocation list: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void createParentDirectories() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+    }
+
+    private void addToken(UUID tokenId, long expiresAt) {
+        buckets.computeIfAbsent(bucketIndex(expiresAt), index -> new Bucket()).add(tokenId, expiresAt);
+    }
+
+    private void addProvider(UUID providerId, long cutoff) {
+        providerCutoffs.merge(providerId, cutoff, Math::max);
+    }
+
+    private long bucketIndex(long epochSeconds) {
+        return epochSeconds / bucketSeconds;
+    }
+
+    private static long nowSeconds() {
+        return System.currentTimeMillis() / 1000;
+    }
+
+    public static class UnavailableException extends RuntimeException {
+        public UnavailableException(Throwable cause) {
+            super("Token revocation list is unavailable", cause);
+        }
+    }
+
+    /**
+     * Open-addressing set of token ids stored as pairs of longs, about 40 bytes per entry
+     * including the expiry, instead of a UUID object and hash map node per entry.
+     */
+    private static class Bucket {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private long[] high = new long[16];
+        private long[] low = new long[16];
+        private long[] expiry = new long[16];
+        private int size;
+
+        boolean contains(UUID tokenId) {
+            long h = tokenId.getMostSignificantBits();
+            long l = tokenId.getLeastSignificantBits();
+            lock.readLock().lock();
+            try {
+                int mask = high.length - 1;
+                for (int slot = slot(h, l, mask); ; slot = (slot + 1) & mask) {
+                    if (high[slot] == 0 && low[slot] == 0) {
+                        return false;
+                    }
+                    if (high[slot] == h && low[slot] == l) {
+                        return true;
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void add(UUID tokenId, long expiresAt) {
+            lock.writeLock().lock();
+            try {
+                // Kept at most half full so probes stay short and always reach an empty slot
+                if ((size + 1) * 2 > high.length) {
+                    resize(high.length * 2);
+                }
+                if (insert(tokenId.getMostSignificantBits(), tokenId.getLeastSignificantBits(), expiresAt)) {
+                    size++;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return size;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void writeTo(List<String> records) {
+            lock.readLock().lock();
+            try {
+                for (int slot = 0; slot < high.length; slot++) {
+                    if (high[slot] != 0 || low[slot] != 0) {
+                        records.add(TOKEN_RECORD + " " + new UUID(high[slot], low[slot]) + " " + expiry[slot]);
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        // jti values are random (version 4) UUIDs, so the all-zero pair never occurs as a key
+        private boolean insert(long h, long l, long expiresAt) {
+            int mask = high.length - 1;
+            for (int slot = slot(h, l, mask); ; slot = (slot + 1) & mask) {
+                if (high[slot] == 0 && low[slot] == 0) {
+                    high[slot] = h;
+                    low[slot] = l;
+                    expiry[slot] = expiresAt;
+                    return true;
+                }
+                if (high[slot] == h && low[slot] == l) {
+                    return false;
+                }
+            }
+        }
+
+        private void resize(int capacity) {
+            long[] oldHigh = high;
+            long[] oldLow = low;
+            long[] oldExpiry = expiry;
+            high = new long[capacity];
+            low = new long[capacity];
+            expiry = new long[capacity];
+            for (int slot = 0; slot < oldHigh.length; slot++) {
+                if (oldHigh[slot] != 0 || oldLow[slot] != 0) {
+                    insert(oldHigh[slot], oldLow[slot], oldExpiry[slot]);
+                }
+            }
+        }
+
+        private static int slot(long h, long l, int mask) {
+            long hash = (h ^ l) * 0x9E3779B97F4A7C15L;
+            return (int) (hash >>> 32) & mask;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.provider.registration.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers tokens that already passed signature verification so repeat requests with the
+ * same bearer token skip HMAC-SHA512. Entries are keyed by a SHA-256 digest of the token and
+ * expire together with the token itself. Revocation is checked on every call, cached or not.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtTokenUtil jwtTokenUtil;
+    private final TokenRevocationList tokenRevocationList;
+    private final Cache<String, ParsedToken> cache;
+
+    public VerifiedTokenCache(JwtTokenUtil jwtTokenUtil,
+                              TokenRevocationList tokenRevocationList,
+                              @Value("${jwt.verified-cache.max-size:100000}") long maxSize,
+                              MeterRegistry meterRegistry) {
+        this.jwtTokenUtil = jwtTokenUtil;
+        this.tokenRevocationList = tokenRevocationList;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified");
+    }
+
+    public Optional<ParsedToken> verify(String token) {
+        String key = digest(token);
+        ParsedToken cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return tokenRevocationList.isRevoked(cached) ? Optional.empty() : Optional.of(cached);
+        }
+
+        // Invalid tokens are never cached, so garbage bearer values cannot fill the cache
+        Optional<ParsedToken> parsed = jwtTokenUtil.parseValidToken(token);
+        parsed.ifPresent(parsedToken -> cache.put(key, parsedToken));
+        return parsed.filter(parsedToken -> !tokenRevocationList.isRevoked(parsedToken));
+    }
+
+    public void invalidate(String token) {
+        cache.invalidate(digest(token));
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static class TokenExpiry implements Expiry<String, ParsedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, ParsedToken token, long currentTime) {
+            long remainingMillis = token.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, ParsedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, ParsedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
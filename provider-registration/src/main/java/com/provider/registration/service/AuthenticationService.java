@@ -2,15 +2,22 @@ package com.provider.registration.service;
 
 import com.provider.registration.dto.ProviderLoginRequest;
 import com.provider.registration.dto.ProviderLoginResponse;
-import com.provider.registration.model.Provider;
+import com.provider.registration.dto.TokenRefreshRequest;
+import com.provider.registration.metrics.PipelineMetrics;
+import com.provider.registration.model.ProviderKeyNormalizer;
+import com.provider.registration.repository.ProviderLoginView;
+import com.provider.registration.repository.ProviderLookupCache;
 import com.provider.registration.repository.ProviderRepository;
 import com.provider.registration.security.JwtTokenUtil;
+import com.provider.registration.security.ParsedToken;
+import com.provider.registration.security.TokenRevocationList;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.UUID;
+import java.time.LocalDateTime;
 
 @Service
 @RequiredArgsConstructor
@@ -18,42 +25,117 @@ import java.util.UUID;
 public class AuthenticationService {
 
     private final ProviderRepository providerRepository;
+    private final ProviderLookupCache providerLookupCache;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenUtil jwtTokenUtil;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationList tokenRevocationList;
+    private final PipelineMetrics pipelineMetrics;
 
     public ProviderLoginResponse login(ProviderLoginRequest request) {
-        log.info("Processing login request for email: {}", request.getEmail());
-        
-        // Find provider by email
-        Provider provider = providerRepository.findByEmail(request.getEmail().trim().toLowerCase())
-                .orElseThrow(() -> new AuthenticationException("Invalid email or password"));
+        log.debug("Processing login request");
+        Timer.Sample sample = pipelineMetrics.start();
+        String outcome = "error";
+        try {
+            ProviderLoginResponse response = authenticate(request);
+            outcome = "success";
+            return response;
+        } catch (AuthenticationException e) {
+            outcome = e.getOutcome();
+            throw e;
+        } finally {
+            pipelineMetrics.outcome(PipelineMetrics.LOGIN, sample, outcome);
+        }
+    }
+
+    // Exchanges a refresh token for a new access token and a rotated refresh token; no password hashing
+    public ProviderLoginResponse refresh(TokenRefreshRequest request) {
+        Timer.Sample sample = pipelineMetrics.start();
+        String outcome = "error";
+        try {
+            RefreshTokenService.Rotation rotation = pipelineMetrics.stage(PipelineMetrics.TOKEN_REFRESH, "rotate",
+                    () -> refreshTokenService.rotate(request.getRefresh_token()));
+            ProviderLoginView provider = rotation.getProvider();
+            String accessToken = pipelineMetrics.stage(PipelineMetrics.TOKEN_REFRESH, "token",
+                    () -> jwtTokenUtil.generateToken(
+                            provider.getId(),
+                            provider.getEmail(),
+                            provider.getSpecialization()
+                    ));
+            outcome = "success";
+            return buildResponse(provider, accessToken, rotation.getRefreshToken(), "Token refreshed");
+        } catch (AuthenticationException e) {
+            outcome = e.getOutcome();
+            throw e;
+        } finally {
+            pipelineMetrics.outcome(PipelineMetrics.TOKEN_REFRESH, sample, outcome);
+        }
+    }
+
+    // Revokes the presented access token and the session of the given refresh token, or with
+    // everywhere set, every access and refresh token issued to the provider so far
+    public void logout(ParsedToken accessToken, String refreshToken, boolean everywhere) {
+        if (everywhere) {
+            tokenRevocationList.revokeProvider(accessToken.getProviderId());
+            refreshTokenService.revokeAll(accessToken.getProviderId());
+        } else {
+            tokenRevocationList.revoke(accessToken);
+            if (refreshToken != null && !refreshToken.isEmpty()) {
+                refreshTokenService.revoke(refreshToken, accessToken.getProviderId());
+            }
+        }
+        log.info("Logout for provider {} (everywhere={})", accessToken.getProviderId(), everywhere);
+    }
+
+    private ProviderLoginResponse authenticate(ProviderLoginRequest request) {
+        // Find provider by email; a read-only projection, so no entity is loaded or dirty-checked
+        ProviderLoginView provider = pipelineMetrics.stage(PipelineMetrics.LOGIN, "lookup",
+                () -> providerLookupCache.findLoginViewByEmail(ProviderKeyNormalizer.email(request.getEmail())))
+                .orElseThrow(() -> new AuthenticationException("Invalid email or password", "unknown_email"));
         
         // Check if provider is active
         if (!provider.isActive()) {
-            log.warn("Login failed: Provider account is inactive for email: {}", request.getEmail());
-            throw new AuthenticationException("Account is inactive. Please contact support.");
+            log.warn("Login failed: Provider account {} is inactive", provider.getId());
+            throw new AuthenticationException("Account is inactive. Please contact support.", "inactive");
         }
         
         // Verify password
-        if (!passwordEncoder.matches(request.getPassword(), provider.getPasswordHash())) {
-            log.warn("Login failed: Invalid password for email: {}", request.getEmail());
-            throw new AuthenticationException("Invalid email or password");
+        boolean passwordMatches = pipelineMetrics.stage(PipelineMetrics.LOGIN, "verify",
+                () -> passwordEncoder.matches(request.getPassword(), provider.getPasswordHash()));
+        if (!passwordMatches) {
+            log.warn("Login failed: Invalid password for provider {}", provider.getId());
+            throw new AuthenticationException("Invalid email or password", "bad_password");
+        }
+
+        // Re-hash while the raw password is at hand if the stored hash uses an outdated algorithm or cost
+        if (passwordEncoder.upgradeEncoding(provider.getPasswordHash())) {
+            pipelineMetrics.stage(PipelineMetrics.LOGIN, "rehash",
+                    () -> upgradePasswordHash(provider, request.getPassword()));
         }
         
         // Generate JWT token
-        String accessToken = jwtTokenUtil.generateToken(
-                provider.getId(), 
-                provider.getEmail(), 
-                provider.getSpecialization()
-        );
+        String accessToken = pipelineMetrics.stage(PipelineMetrics.LOGIN, "token",
+                () -> jwtTokenUtil.generateToken(
+                        provider.getId(),
+                        provider.getEmail(),
+                        provider.getSpecialization()
+                ));
+        String refreshToken = pipelineMetrics.stage(PipelineMetrics.LOGIN, "refresh_token",
+                () -> refreshTokenService.issue(provider.getId()));
         
-        log.info("Login successful for provider: {}", provider.getEmail());
+        log.info("Login successful for provider: {}", provider.getId());
         
-        // Build response
+        return buildResponse(provider, accessToken, refreshToken, "Login successful");
+    }
+
+    private ProviderLoginResponse buildResponse(ProviderLoginView provider, String accessToken,
+                                                String refreshToken, String message) {
         ProviderLoginResponse.LoginData loginData = new ProviderLoginResponse.LoginData();
         loginData.setAccess_token(accessToken);
         loginData.setExpires_in(jwtTokenUtil.getExpirationTime());
         loginData.setToken_type("Bearer");
+        loginData.setRefresh_token(refreshToken);
+        loginData.setRefresh_expires_in(refreshTokenService.getRefreshExpirationTime());
         
         ProviderLoginResponse.ProviderData providerData = new ProviderLoginResponse.ProviderData();
         providerData.setId(provider.getId());
@@ -67,12 +149,36 @@ public class AuthenticationService {
         
         loginData.setProvider(providerData);
         
-        return new ProviderLoginResponse(true, "Login successful", loginData);
+        return new ProviderLoginResponse(true, message, loginData);
     }
     
+    private void upgradePasswordHash(ProviderLoginView provider, String rawPassword) {
+        try {
+            // Targeted update of the one column instead of loading and saving the entity
+            providerRepository.updatePasswordHash(provider.getId(), passwordEncoder.encode(rawPassword),
+                    LocalDateTime.now());
+            providerLookupCache.evict(provider);
+            log.info("Upgraded password hash for provider: {}", provider.getId());
+        } catch (RuntimeException e) {
+            // The old hash is still valid, so the upgrade can wait for the next login
+            log.warn("Password hash upgrade failed for provider {}: {}", provider.getId(), e.getMessage());
+        }
+    }
+
     public static class AuthenticationException extends RuntimeException {
+        private final String outcome;
+
         public AuthenticationException(String message) {
+            this(message, "error");
+        }
+
+        public AuthenticationException(String message, String outcome) {
             super(message);
+            this.outcome = outcome;
+        }
+
+        public String getOutcome() {
+            return outcome;
         }
     }
 } 
\ No newline at end of file
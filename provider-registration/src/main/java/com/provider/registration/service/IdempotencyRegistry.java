@@ -0,0 +1,235 @@
+package com.provider.registration.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key support for client retries. The first request with a key runs; retries that
+ * arrive while it is still running wait for its result instead of repeating the work, and retries
+ * after it succeeded are answered from a bounded, TTL-evicted response cache. Failures are not
+ * cached, so a retry after an error runs again.
+ *
+ * <p>Each key is bound to a fingerprint of the request body (an HMAC under a per-process key, so
+ * no password-bearing payload is kept in memory); reusing a key for a different body is rejected.
+ */
+@Component
+public class IdempotencyRegistry {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final ObjectMapper objectMapper;
+    private final long waitTimeoutMillis;
+    private final SecretKeySpec fingerprintKey;
+
+    private final Map<String, Attempt> inFlight = new ConcurrentHashMap<>();
+    private final Cache<String, Completed> completed;
+
+    private final Counter executedCounter;
+    private final Counter joinedCounter;
+    private final Counter replayedCounter;
+    private final Counter mismatchCounter;
+
+    public IdempotencyRegistry(ObjectMapper objectMapper,
+                               @Value("${provider.idempotency.max-size:100000}") long maxSize,
+                               @Value("${provider.idempotency.ttl:PT24H}") Duration ttl,
+                               @Value("${provider.idempotency.wait-timeout:PT30S}") Duration waitTimeout,
+                               MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.waitTimeoutMillis = waitTimeout.toMillis();
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.fingerprintKey = new SecretKeySpec(key, HMAC_ALGORITHM);
+
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, completed, "providers.idempotency");
+        Gauge.builder("provider.idempotency.in.flight", inFlight, Map::size)
+                .register(meterRegistry);
+        this.executedCounter = counter(meterRegistry, "executed");
+        this.joinedCounter = counter(meterRegistry, "joined");
+        this.replayedCounter = counter(meterRegistry, "replayed");
+        this.mismatchCounter = counter(meterRegistry, "mismatch");
+    }
+
+    public <T> Result<T> execute(String key, Object request, Supplier<T> work) {
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidKeyException(
+                    "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        byte[] fingerprint = fingerprint(request);
+
+        Completed done = completed.getIfPresent(key);
+        if (done != null) {
+            return replay(done, fingerprint);
+        }
+
+        Attempt attempt = new Attempt(fingerprint);
+        Attempt running = inFlight.putIfAbsent(key, attempt);
+        if (running != null) {
+            return join(running, fingerprint);
+        }
+        try {
+            // The previous holder stores its response before leaving the in-flight map, so a
+            // request that slipped in between the two lookups still finds it here
+            done = completed.getIfPresent(key);
+            if (done != null) {
+                attempt.result.complete(done.response);
+                return replay(done, fingerprint);
+            }
+
+            executedCounter.increment();
+            T response;
+            try {
+                response = work.get();
+            } catch (RuntimeException e) {
+                attempt.result.completeExceptionally(e);
+                throw e;
+            }
+            completed.put(key, new Completed(fingerprint, response));
+            attempt.result.complete(response);
+            return new Result<>(response, false);
+        } finally {
+            inFlight.remove(key, attempt);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Result<T> replay(Completed done, byte[] fingerprint) {
+        checkFingerprint(done.fingerprint, fingerprint);
+        replayedCounter.increment();
+        return new Result<>((T) done.response, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Result<T> join(Attempt running, byte[] fingerprint) {
+        checkFingerprint(running.fingerprint, fingerprint);
+        joinedCounter.increment();
+        try {
+            return new Result<>((T) running.result.get(waitTimeoutMillis, TimeUnit.MILLISECONDS), true);
+        } catch (ExecutionException e) {
+            // The retry shares the outcome of the attempt it waited for, failures included
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new RequestInProgressException(Math.max(1, waitTimeoutMillis / 1000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RequestInProgressException(Math.max(1, waitTimeoutMillis / 1000));
+        }
+    }
+
+    private void checkFingerprint(byte[] expected, byte[] actual) {
+        if (!MessageDigest.isEqual(expected, actual)) {
+            mismatchCounter.increment();
+            throw new KeyReusedException("Idempotency-Key was already used for a different request");
+        }
+    }
+
+    private byte[] fingerprint(Object request) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(fingerprintKey);
+            return mac.doFinal(objectMapper.writeValueAsBytes(request));
+        } catch (GeneralSecurityException | JsonProcessingException e) {
+            throw new IllegalStateException("Could not fingerprint request", e);
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("provider.idempotency")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public static class Result<T> {
+        private final T response;
+        private final boolean replayed;
+
+        Result(T response, boolean replayed) {
+            this.response = response;
+            this.replayed = replayed;
+        }
+
+        public T getResponse() {
+            return response;
+        }
+
+        // True when the response was produced by an earlier request with the same key
+        public boolean isReplayed() {
+            return replayed;
+        }
+    }
+
+    private static class Attempt {
+        private final byte[] fingerprint;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        Attempt(byte[] fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    private static class Completed {
+        private final byte[] fingerprint;
+        private final Object response;
+
+        Completed(byte[] fingerprint, Object response) {
+            this.fingerprint = fingerprint;
+            this.response = response;
+        }
+    }
+
+    public static class InvalidKeyException extends RuntimeException {
+        public InvalidKeyException(String message) {
+            super(message);
+        }
+    }
+
+    public static class KeyReusedException extends RuntimeException {
+        public KeyReusedException(String message) {
+            super(message);
+        }
+    }
+
+    public static class RequestInProgressException extends RuntimeException {
+        private final long retryAfterSeconds;
+
+        public RequestInProgressException(long retryAfterSeconds) {
+            super("A request with this Idempotency-Key is still being processed. Please retry later.");
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
+}
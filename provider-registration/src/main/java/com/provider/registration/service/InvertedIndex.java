@@ -0,0 +1,264 @@
+package com.provider.registration.service;
+
+import com.provider.registration.dto.ProviderSuggestion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix-searchable inverted index over provider name, specialization and city tokens.
+ * Documents are dense ints; posting lists are plain int arrays and field values are interned
+ * in a dictionary, so per-provider overhead is a few dozen bytes. Adds are append-only.
+ */
+class InvertedIndex {
+
+    static final int MAX_QUERY_TOKENS = 4;
+
+    private static final int FIRST_NAME = 0;
+    private static final int LAST_NAME = 1;
+    private static final int SPECIALIZATION = 2;
+    private static final int CITY = 3;
+    private static final int FIELDS = 4;
+    private static final int NO_VALUE = -1;
+
+    private final int maxDocuments;
+    private final int maxCandidates;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final TreeMap<String, PostingList> postings = new TreeMap<>();
+    private final Map<String, Integer> valueIds = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+    private final List<String[]> valueTokens = new ArrayList<>();
+
+    private long[] idHigh = new long[16];
+    private long[] idLow = new long[16];
+    private int[] fieldValues = new int[16 * FIELDS];
+    private int size;
+    private long postingCount;
+
+    InvertedIndex(int maxDocuments, int maxCandidates) {
+        this.maxDocuments = maxDocuments;
+        this.maxCandidates = maxCandidates;
+    }
+
+    // Returns false once the index holds maxDocuments providers
+    boolean add(UUID id, String firstName, String lastName, String specialization, String city) {
+        lock.writeLock().lock();
+        try {
+            if (size >= maxDocuments) {
+                return false;
+            }
+            ensureCapacity(size + 1);
+            int doc = size++;
+            idHigh[doc] = id.getMostSignificantBits();
+            idLow[doc] = id.getLeastSignificantBits();
+            setField(doc, FIRST_NAME, firstName);
+            setField(doc, LAST_NAME, lastName);
+            setField(doc, SPECIALIZATION, specialization);
+            setField(doc, CITY, city);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    List<ProviderSuggestion> search(String query, int limit) {
+        String[] tokens = tokenize(query, MAX_QUERY_TOKENS);
+        if (tokens.length == 0 || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        // The longest token is usually the most selective, so its postings drive the scan and
+        // the remaining tokens are checked against each candidate's own field tokens
+        int driver = 0;
+        for (int i = 1; i < tokens.length; i++) {
+            if (tokens[i].length() > tokens[driver].length()) {
+                driver = i;
+            }
+        }
+        String prefix = tokens[driver];
+
+        lock.readLock().lock();
+        try {
+            int[] hits = new int[limit];
+            int found = 0;
+            int examined = 0;
+            NavigableMap<String, PostingList> matching =
+                    postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+            scan:
+            for (PostingList list : matching.values()) {
+                for (int i = 0; i < list.size; i++) {
+                    if (++examined > maxCandidates) {
+                        break scan;
+                    }
+                    int doc = list.docs[i];
+                    if (matchesAll(doc, tokens, driver) && !alreadyFound(hits, found, doc)) {
+                        hits[found++] = doc;
+                        if (found == limit) {
+                            break scan;
+                        }
+                    }
+                }
+            }
+
+            List<ProviderSuggestion> suggestions = new ArrayList<>(found);
+            for (int i = 0; i < found; i++) {
+                int doc = hits[i];
+                suggestions.add(new ProviderSuggestion(
+                        new UUID(idHigh[doc], idLow[doc]),
+                        value(doc, FIRST_NAME),
+                        value(doc, LAST_NAME),
+                        value(doc, SPECIALIZATION),
+                        value(doc, CITY)));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Primitive arrays only; the term and value dictionaries are not included
+    long getArrayBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) idHigh.length * Long.BYTES * 2 + (long) fieldValues.length * Integer.BYTES
+                    + postingCount * Integer.BYTES;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String[] tokenize(String text, int maxTokens) {
+        if (text == null) {
+            return new String[0];
+        }
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length() && tokens.size() < maxTokens; i++) {
+            boolean tokenChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens.toArray(new String[0]);
+    }
+
+    private void setField(int doc, int field, String value) {
+        int valueId = value == null || value.isEmpty() ? NO_VALUE : valueId(value);
+        fieldValues[doc * FIELDS + field] = valueId;
+        if (valueId == NO_VALUE) {
+            return;
+        }
+        for (String token : valueTokens.get(valueId)) {
+            PostingList list = postings.computeIfAbsent(token, t -> new PostingList());
+            // Docs are appended in increasing order, so a repeat within one provider is always the last entry
+            if (list.size == 0 || list.docs[list.size - 1] != doc) {
+                list.add(doc);
+                postingCount++;
+            }
+        }
+    }
+
+    private int valueId(String value) {
+        Integer id = valueIds.get(value);
+        if (id == null) {
+            id = values.size();
+            values.add(value);
+            valueTokens.add(tokenize(value, Integer.MAX_VALUE));
+            valueIds.put(value, id);
+        }
+        return id;
+    }
+
+    private String value(int doc, int field) {
+        int valueId = fieldValues[doc * FIELDS + field];
+        return valueId == NO_VALUE ? null : values.get(valueId);
+    }
+
+    private boolean matchesAll(int doc, String[] tokens, int skip) {
+        for (int t = 0; t < tokens.length; t++) {
+            if (t != skip && !matches(doc, tokens[t])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean matches(int doc, String prefix) {
+        for (int field = 0; field < FIELDS; field++) {
+            int valueId = fieldValues[doc * FIELDS + field];
+            if (valueId == NO_VALUE) {
+                continue;
+            }
+            for (String token : valueTokens.get(valueId)) {
+                if (token.startsWith(prefix)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // A provider indexed twice (e.g. recorded during a rebuild and also streamed) must surface once
+    private boolean alreadyFound(int[] hits, int found, int doc) {
+        for (int i = 0; i < found; i++) {
+            int hit = hits[i];
+            if (hit == doc || (idHigh[hit] == idHigh[doc] && idLow[hit] == idLow[doc])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= idHigh.length) {
+            return;
+        }
+        int capacity = (int) Math.min(maxDocuments, Math.max(required, idHigh.length + (idHigh.length >> 1)));
+        idHigh = Arrays.copyOf(idHigh, capacity);
+        idLow = Arrays.copyOf(idLow, capacity);
+        fieldValues = Arrays.copyOf(fieldValues, capacity * FIELDS);
+    }
+
+    private static class PostingList {
+        private int[] docs = new int[4];
+        private int size;
+
+        void add(int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size + (size >> 1) + 1);
+            }
+            docs[size++] = doc;
+        }
+    }
+}
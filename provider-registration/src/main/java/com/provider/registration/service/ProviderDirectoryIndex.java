@@ -0,0 +1,157 @@
+package com.provider.registration.service;
+
+import com.provider.registration.dto.ProviderSummary;
+import com.provider.registration.dto.ProviderSuggestion;
+import com.provider.registration.model.Provider;
+import com.provider.registration.repository.ProviderRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Typeahead over active providers, served from an in-process {@link InvertedIndex} that is loaded
+ * once the application is ready and extended as registrations commit.
+ */
+@Component
+@Slf4j
+public class ProviderDirectoryIndex {
+
+    public static final int DEFAULT_SUGGESTIONS = 10;
+    public static final int MAX_SUGGESTIONS = 20;
+
+    private final ProviderRepository providerRepository;
+    private final int maxProviders;
+    private final int maxCandidates;
+    private final Timer suggestTimer;
+
+    // Until the first load finishes there is nothing to suggest
+    private volatile InvertedIndex current;
+    private volatile InvertedIndex building;
+    private volatile boolean capacityWarned;
+
+    public ProviderDirectoryIndex(ProviderRepository providerRepository,
+                                  @Value("${directory.index.max-providers:2000000}") int maxProviders,
+                                  @Value("${directory.index.max-candidates:10000}") int maxCandidates,
+                                  MeterRegistry meterRegistry) {
+        this.providerRepository = providerRepository;
+        this.maxProviders = maxProviders;
+        this.maxCandidates = maxCandidates;
+
+        this.suggestTimer = Timer.builder("provider.suggest")
+                .register(meterRegistry);
+        Gauge.builder("provider.directory.index.providers", this, ProviderDirectoryIndex::getProviderCount)
+                .register(meterRegistry);
+        Gauge.builder("provider.directory.index.terms", this, ProviderDirectoryIndex::getTermCount)
+                .register(meterRegistry);
+    }
+
+    public List<ProviderSuggestion> suggest(String query, int limit) {
+        InvertedIndex index = current;
+        if (index == null) {
+            return Collections.emptyList();
+        }
+        int max = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        return suggestTimer.record(() -> index.search(query, max));
+    }
+
+    // Indexes after the surrounding transaction commits, so a rolled back registration never shows up
+    public void add(Provider provider) {
+        if (!provider.isActive()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addNow(provider);
+                }
+            });
+        } else {
+            addNow(provider);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        InvertedIndex next = new InvertedIndex(maxProviders, maxCandidates);
+        building = next;
+        try (Stream<ProviderSummary> providers = providerRepository.streamActiveSummaries()) {
+            providers.forEach(provider -> index(next, provider.getId(), provider.getFirstName(), provider.getLastName(),
+                    provider.getSpecialization(), provider.getCity()));
+        } catch (RuntimeException | Error e) {
+            building = null;
+            throw e;
+        }
+        // Publish before detaching the builder: a provider added in between still reaches one of the two
+        current = next;
+        building = null;
+        log.info("Provider directory index loaded {} providers ({} terms) in {} ms",
+                next.size(), next.termCount(), System.currentTimeMillis() - start);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        InvertedIndex index = current;
+        stats.put("ready", index != null);
+        if (index != null) {
+            stats.put("providers", index.size());
+            stats.put("terms", index.termCount());
+            stats.put("maxProviders", maxProviders);
+            stats.put("arrayBytes", index.getArrayBytes());
+        }
+        return stats;
+    }
+
+    private void addNow(Provider provider) {
+        String city = provider.getClinicAddress() == null ? null : provider.getClinicAddress().getCity();
+        // Providers committed while a rebuild is streaming the table must land in the new index too.
+        // The builder is read first: rebuild() publishes current before clearing it, so a null here
+        // means either the stream has not started (and will see the provider) or current is already new
+        InvertedIndex next = building;
+        InvertedIndex index = current;
+        if (index != null && index != next) {
+            index(index, provider.getId(), provider.getFirstName(), provider.getLastName(),
+                    provider.getSpecialization(), city);
+        }
+        if (next != null) {
+            index(next, provider.getId(), provider.getFirstName(), provider.getLastName(),
+                    provider.getSpecialization(), city);
+        }
+    }
+
+    private void index(InvertedIndex index, UUID id, String firstName, String lastName,
+                       String specialization, String city) {
+        if (!index.add(id, firstName, lastName, specialization, city) && !capacityWarned) {
+            capacityWarned = true;
+            log.warn("Provider directory index is full at {} providers; new providers will not be suggested",
+                    maxProviders);
+        }
+    }
+
+    private double getProviderCount() {
+        InvertedIndex index = current;
+        return index == null ? 0 : index.size();
+    }
+
+    private double getTermCount() {
+        InvertedIndex index = current;
+        return index == null ? 0 : index.termCount();
+    }
+}
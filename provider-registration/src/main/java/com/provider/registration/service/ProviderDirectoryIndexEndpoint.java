@@ -0,0 +1,30 @@
+package com.provider.registration.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// Exposes the typeahead index size and a manual rebuild under /actuator/directoryindex, served only on the
+// loopback management port (management.server.*) so a provider token cannot trigger a rebuild
+@Component
+@Endpoint(id = "directoryindex")
+@RequiredArgsConstructor
+public class ProviderDirectoryIndexEndpoint {
+
+    private final ProviderDirectoryIndex providerDirectoryIndex;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return providerDirectoryIndex.getStats();
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        providerDirectoryIndex.rebuild();
+        return providerDirectoryIndex.getStats();
+    }
+}
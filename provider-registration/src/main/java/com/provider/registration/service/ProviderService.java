@@ -1,63 +1,275 @@
 package com.provider.registration.service;
 
 import com.provider.registration.dto.ClinicAddressDto;
+import com.provider.registration.dto.ProviderBatchRegistrationResponse;
 import com.provider.registration.dto.ProviderRegistrationRequest;
 import com.provider.registration.dto.ProviderRegistrationResponse;
+import com.provider.registration.dto.ProviderSearchResponse;
+import com.provider.registration.dto.ProviderSummary;
+import com.provider.registration.metrics.PipelineMetrics;
 import com.provider.registration.model.ClinicAddress;
 import com.provider.registration.model.Provider;
+import com.provider.registration.model.ProviderKeyNormalizer;
 import com.provider.registration.model.VerificationStatus;
+import com.provider.registration.repository.ProviderLookupCache;
 import com.provider.registration.repository.ProviderRepository;
+import com.provider.registration.repository.ProviderSearchCriteria;
+import com.provider.registration.repository.ProviderUniqueKeys;
+import com.provider.registration.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
+/**
+ * Registration runs in phases: validation and the duplicate check, then password hashing with
+ * no transaction or connection held, then a short transaction that only persists. Hashing costs
+ * far more than the inserts, so holding a pooled connection across it would let hashing load
+ * exhaust the pool.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
-@Transactional
 public class ProviderService {
 
+    public static final String FIELD_EMAIL = "email";
+    public static final String FIELD_PHONE_NUMBER = "phoneNumber";
+    public static final String FIELD_LICENSE_NUMBER = "licenseNumber";
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final ProviderRepository providerRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final ProviderLookupCache providerLookupCache;
+    private final RegistrationKeyFilter registrationKeyFilter;
+    private final ProviderDirectoryIndex providerDirectoryIndex;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final PipelineMetrics pipelineMetrics;
 
     public ProviderRegistrationResponse registerProvider(ProviderRegistrationRequest request) {
-        log.info("Processing provider registration for email: {}", request.getEmail());
+        log.debug("Processing provider registration");
+        Timer.Sample sample = pipelineMetrics.start();
+        String outcome = "error";
+        try {
+            ProviderRegistrationResponse response = register(request);
+            outcome = "success";
+            return response;
+        } catch (DuplicateResourceException e) {
+            outcome = "duplicate";
+            e.getFields().forEach(pipelineMetrics::duplicate);
+            throw e;
+        } finally {
+            pipelineMetrics.outcome(PipelineMetrics.REGISTRATION, sample, outcome);
+        }
+    }
 
-        // Check for duplicate email
-        if (providerRepository.existsByEmail(request.getEmail())) {
-            log.warn("Registration failed: Email already exists: {}", request.getEmail());
-            throw new DuplicateResourceException("Email already registered: " + request.getEmail());
+    private ProviderRegistrationResponse register(ProviderRegistrationRequest request) {
+        // Check email, phone number and license number in a single query
+        List<String> conflicts = pipelineMetrics.stage(PipelineMetrics.REGISTRATION, "duplicate_check",
+                () -> findConflicts(request));
+        if (!conflicts.isEmpty()) {
+            log.warn("Registration failed: Duplicate {}", conflicts);
+            throw duplicateResource(conflicts, request);
         }
 
-        // Check for duplicate phone number
-        if (providerRepository.existsByPhoneNumber(request.getPhoneNumber())) {
-            log.warn("Registration failed: Phone number already exists: {}", request.getPhoneNumber());
-            throw new DuplicateResourceException("Phone number already registered: " + request.getPhoneNumber());
+        // Hash the password; no transaction is open, so no connection is held while this runs
+        String hashedPassword = pipelineMetrics.stage(PipelineMetrics.REGISTRATION, "hash",
+                () -> passwordEncoder.encode(request.getPassword()));
+
+        // Convert DTO to entity
+        Provider provider = toEntity(request, hashedPassword);
+
+        // Save the provider; a concurrent registration can still win the race, so map
+        // unique constraint violations back to the colliding fields
+        Provider savedProvider;
+        try {
+            savedProvider = pipelineMetrics.connection(PipelineMetrics.REGISTRATION, "persist",
+                    () -> transactionTemplate.execute(status -> pipelineMetrics.stage(PipelineMetrics.REGISTRATION,
+                            "save", () -> providerRepository.saveAndFlush(provider))));
+        } catch (DataIntegrityViolationException e) {
+            List<String> violated = violatedFields(e);
+            if (violated.isEmpty()) {
+                throw e;
+            }
+            log.warn("Registration failed: Unique constraint violated on {}", violated);
+            throw duplicateResource(violated, request);
         }
+        providerLookupCache.evict(savedProvider);
+        recordKeys(savedProvider);
+        log.info("Provider registered successfully with ID: {}", savedProvider.getId());
 
-        // Check for duplicate license number
-        if (providerRepository.existsByLicenseNumber(request.getLicenseNumber())) {
-            log.warn("Registration failed: License number already exists: {}", request.getLicenseNumber());
-            throw new DuplicateResourceException("License number already registered: " + request.getLicenseNumber());
+        // Create response
+        return toResponse(savedProvider);
+    }
+
+    public ProviderBatchRegistrationResponse registerProviders(List<ProviderRegistrationRequest> requests) {
+        log.info("Processing batch provider registration for {} providers", requests.size());
+        Timer.Sample sample = pipelineMetrics.start();
+        String outcome = "error";
+        try {
+            ProviderBatchRegistrationResponse response = registerBatch(requests);
+            outcome = response.getConflicts() == 0 ? "success" : "partial";
+            return response;
+        } catch (DuplicateResourceException e) {
+            outcome = "duplicate";
+            throw e;
+        } finally {
+            pipelineMetrics.outcome(PipelineMetrics.BATCH_REGISTRATION, sample, outcome);
         }
+    }
 
-        // Hash the password
-        String hashedPassword = passwordEncoder.encode(request.getPassword());
+    private ProviderBatchRegistrationResponse registerBatch(List<ProviderRegistrationRequest> requests) {
 
-        // Convert DTO to entity
+        // Check the keys the Bloom filters cannot rule out against the database in one set-based query
+        Set<String> emails = new HashSet<>();
+        Set<String> phoneNumbers = new HashSet<>();
+        Set<String> licenseNumbers = new HashSet<>();
+        for (ProviderRegistrationRequest request : requests) {
+            String email = ProviderKeyNormalizer.email(request.getEmail());
+            String phoneNumber = ProviderKeyNormalizer.phoneNumber(request.getPhoneNumber());
+            String licenseNumber = ProviderKeyNormalizer.licenseNumber(request.getLicenseNumber());
+            if (registrationKeyFilter.mightExist(email, phoneNumber, licenseNumber)) {
+                emails.add(email);
+                phoneNumbers.add(phoneNumber);
+                licenseNumbers.add(licenseNumber);
+            }
+        }
+        Set<String> takenEmails = new HashSet<>();
+        Set<String> takenPhoneNumbers = new HashSet<>();
+        Set<String> takenLicenseNumbers = new HashSet<>();
+        if (!emails.isEmpty()) {
+            List<ProviderUniqueKeys> existing = pipelineMetrics.stage(PipelineMetrics.BATCH_REGISTRATION,
+                    "duplicate_check", () -> pipelineMetrics.connection(PipelineMetrics.BATCH_REGISTRATION,
+                            "duplicate_check",
+                            () -> providerRepository.findConflictingKeysIn(emails, phoneNumbers, licenseNumbers)));
+            for (ProviderUniqueKeys keys : existing) {
+                takenEmails.add(keys.getEmail());
+                takenPhoneNumbers.add(keys.getPhoneNumber());
+                takenLicenseNumbers.add(keys.getLicenseNumber());
+            }
+        }
+
+        // Keys claimed by an earlier accepted item of the same batch are conflicts as well; a rejected
+        // item claims nothing, so its other keys stay free for later items
+        ProviderBatchRegistrationResponse.ItemResult[] results =
+                new ProviderBatchRegistrationResponse.ItemResult[requests.size()];
+        List<Integer> accepted = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            ProviderRegistrationRequest request = requests.get(i);
+            String email = ProviderKeyNormalizer.email(request.getEmail());
+            String phoneNumber = ProviderKeyNormalizer.phoneNumber(request.getPhoneNumber());
+            String licenseNumber = ProviderKeyNormalizer.licenseNumber(request.getLicenseNumber());
+            List<String> conflicts = new ArrayList<>(3);
+            if (takenEmails.contains(email)) {
+                conflicts.add(FIELD_EMAIL);
+            }
+            if (takenPhoneNumbers.contains(phoneNumber)) {
+                conflicts.add(FIELD_PHONE_NUMBER);
+            }
+            if (takenLicenseNumbers.contains(licenseNumber)) {
+                conflicts.add(FIELD_LICENSE_NUMBER);
+            }
+            if (conflicts.isEmpty()) {
+                takenEmails.add(email);
+                takenPhoneNumbers.add(phoneNumber);
+                takenLicenseNumbers.add(licenseNumber);
+                accepted.add(i);
+            } else {
+                results[i] = new ProviderBatchRegistrationResponse.ItemResult(
+                        i, ProviderBatchRegistrationResponse.Status.CONFLICT, null, conflicts,
+                        duplicateResource(conflicts, request).getMessage());
+            }
+        }
+
+        // Hash the passwords on the bounded hashing pool outside any transaction, then insert the
+        // accepted providers as JDBC batches in one short transaction
+        List<String> hashedPasswords = pipelineMetrics.stage(PipelineMetrics.BATCH_REGISTRATION, "hash",
+                () -> passwordEncoder.encodeAll(accepted.stream()
+                        .map(index -> requests.get(index).getPassword())
+                        .collect(Collectors.toList())));
+        List<Provider> providers = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            providers.add(toEntity(requests.get(accepted.get(i)), hashedPasswords.get(i)));
+        }
+
+        List<Provider> savedProviders;
+        try {
+            savedProviders = pipelineMetrics.connection(PipelineMetrics.BATCH_REGISTRATION, "persist",
+                    () -> transactionTemplate.execute(status -> pipelineMetrics.stage(
+                            PipelineMetrics.BATCH_REGISTRATION, "save", () -> {
+                                List<Provider> saved = providerRepository.saveAll(providers);
+                                providerRepository.flush();
+                                return saved;
+                            })));
+        } catch (DataIntegrityViolationException e) {
+            List<String> violated = violatedFields(e);
+            if (violated.isEmpty()) {
+                throw e;
+            }
+            log.warn("Batch registration failed: Unique constraint violated on {}", violated);
+            throw new DuplicateResourceException(
+                    "A concurrent registration claimed one of the batch keys (" + String.join(", ", violated)
+                            + "); no providers were registered, retry the batch", violated);
+        }
+
+        for (int i = 0; i < savedProviders.size(); i++) {
+            providerLookupCache.evict(savedProviders.get(i));
+            recordKeys(savedProviders.get(i));
+            int index = accepted.get(i);
+            results[index] = new ProviderBatchRegistrationResponse.ItemResult(
+                    index, ProviderBatchRegistrationResponse.Status.CREATED, toResponse(savedProviders.get(i)),
+                    Collections.emptyList(), null);
+        }
+        log.info("Batch registration completed: {} created, {} conflicts",
+                savedProviders.size(), requests.size() - savedProviders.size());
+
+        return new ProviderBatchRegistrationResponse(
+                requests.size(),
+                savedProviders.size(),
+                requests.size() - savedProviders.size(),
+                Arrays.asList(results)
+        );
+    }
+
+    @Transactional(readOnly = true)
+    public ProviderSearchResponse searchProviders(ProviderSearchCriteria criteria, UUID cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        // Seek past the cursor instead of using OFFSET, and read one extra row to learn whether another page exists
+        List<ProviderSummary> rows = providerRepository.search(criteria, cursor, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<ProviderSummary> page = hasMore ? rows.subList(0, pageSize) : rows;
+        UUID nextCursor = hasMore ? page.get(page.size() - 1).getId() : null;
+
+        return new ProviderSearchResponse(new ArrayList<>(page), nextCursor, hasMore);
+    }
+
+    Provider toEntity(ProviderRegistrationRequest request, String hashedPassword) {
         Provider provider = new Provider();
         provider.setFirstName(request.getFirstName().trim());
         provider.setLastName(request.getLastName().trim());
-        provider.setEmail(request.getEmail().trim().toLowerCase());
+        // Keys are stored as submitted for display; the canonical copies are what uniqueness applies to
+        provider.setEmail(request.getEmail().trim());
         provider.setPhoneNumber(request.getPhoneNumber().trim());
         provider.setPasswordHash(hashedPassword);
         provider.setSpecialization(request.getSpecialization().trim());
-        provider.setLicenseNumber(request.getLicenseNumber().trim().toUpperCase());
+        provider.setLicenseNumber(request.getLicenseNumber().trim());
+        provider.normalizeKeys();
         provider.setYearsOfExperience(request.getYearsOfExperience());
         provider.setVerificationStatus(VerificationStatus.PENDING);
         provider.setActive(true);
@@ -72,12 +284,10 @@ public class ProviderService {
             address.setZip(addressDto.getZip().trim());
             provider.setClinicAddress(address);
         }
+        return provider;
+    }
 
-        // Save the provider
-        Provider savedProvider = providerRepository.save(provider);
-        log.info("Provider registered successfully with ID: {}", savedProvider.getId());
-
-        // Create response
+    private ProviderRegistrationResponse toResponse(Provider savedProvider) {
         return new ProviderRegistrationResponse(
                 savedProvider.getId(),
                 savedProvider.getFirstName(),
@@ -90,9 +300,95 @@ public class ProviderService {
         );
     }
 
+    private void recordKeys(Provider provider) {
+        registrationKeyFilter.record(provider.getNormalizedEmail(), provider.getNormalizedPhoneNumber(),
+                provider.getNormalizedLicenseNumber());
+        providerDirectoryIndex.add(provider);
+    }
+
+    private List<String> findConflicts(ProviderRegistrationRequest request) {
+        // Compare canonical forms only, so "John@Example.com" is caught here instead of at the unique index
+        String email = ProviderKeyNormalizer.email(request.getEmail());
+        String phoneNumber = ProviderKeyNormalizer.phoneNumber(request.getPhoneNumber());
+        String licenseNumber = ProviderKeyNormalizer.licenseNumber(request.getLicenseNumber());
+
+        // Most registrations are new; skip the query when no key can possibly exist yet
+        if (!registrationKeyFilter.mightExist(email, phoneNumber, licenseNumber)) {
+            return Collections.emptyList();
+        }
+
+        List<ProviderUniqueKeys> matches = pipelineMetrics.connection(PipelineMetrics.REGISTRATION, "duplicate_check",
+                () -> providerRepository.findConflictingKeys(email, phoneNumber, licenseNumber));
+
+        List<String> conflicts = new ArrayList<>(3);
+        if (matches.stream().anyMatch(keys -> email.equals(keys.getEmail()))) {
+            conflicts.add(FIELD_EMAIL);
+        }
+        if (matches.stream().anyMatch(keys -> phoneNumber.equals(keys.getPhoneNumber()))) {
+            conflicts.add(FIELD_PHONE_NUMBER);
+        }
+        if (matches.stream().anyMatch(keys -> licenseNumber.equals(keys.getLicenseNumber()))) {
+            conflicts.add(FIELD_LICENSE_NUMBER);
+        }
+        return conflicts;
+    }
+
+    private List<String> violatedFields(DataIntegrityViolationException e) {
+        String constraint = null;
+        if (e.getCause() instanceof ConstraintViolationException) {
+            constraint = ((ConstraintViolationException) e.getCause()).getConstraintName();
+        }
+        if (constraint == null) {
+            constraint = e.getMostSpecificCause().getMessage();
+        }
+        if (constraint == null) {
+            return Collections.emptyList();
+        }
+
+        String name = constraint.toLowerCase(Locale.ROOT);
+        List<String> fields = new ArrayList<>(1);
+        if (name.contains(Provider.EMAIL_CONSTRAINT)) {
+            fields.add(FIELD_EMAIL);
+        } else if (name.contains(Provider.PHONE_NUMBER_CONSTRAINT)) {
+            fields.add(FIELD_PHONE_NUMBER);
+        } else if (name.contains(Provider.LICENSE_NUMBER_CONSTRAINT)) {
+            fields.add(FIELD_LICENSE_NUMBER);
+        }
+        return fields;
+    }
+
+    private DuplicateResourceException duplicateResource(List<String> fields, ProviderRegistrationRequest request) {
+        List<String> messages = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            switch (field) {
+                case FIELD_EMAIL:
+                    messages.add("Email already registered: " + request.getEmail());
+                    break;
+                case FIELD_PHONE_NUMBER:
+                    messages.add("Phone number already registered: " + request.getPhoneNumber());
+                    break;
+                default:
+                    messages.add("License number already registered: " + request.getLicenseNumber());
+                    break;
+            }
+        }
+        return new DuplicateResourceException(String.join("; ", messages), fields);
+    }
+
     public static class DuplicateResourceException extends RuntimeException {
+        private final List<String> fields;
+
         public DuplicateResourceException(String message) {
+            this(message, Collections.emptyList());
+        }
+
+        public DuplicateResourceException(String message, List<String> fields) {
             super(message);
+            this.fields = Collections.unmodifiableList(fields);
+        }
+
+        public List<String> getFields() {
+            return fields;
         }
     }
 }
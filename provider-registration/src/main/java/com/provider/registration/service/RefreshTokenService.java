@@ -0,0 +1,153 @@
+package com.provider.registration.service;
+
+import com.provider.registration.model.RefreshToken;
+import com.provider.registration.repository.ProviderLoginView;
+import com.provider.registration.repository.ProviderLookupCache;
+import com.provider.registration.repository.RefreshTokenRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Issues and rotates opaque refresh tokens. Tokens carry 256 random bits, so a single SHA-256
+ * is enough to store them safely and the lookup is an indexed equality match with no BCrypt work.
+ */
+@Service
+@Slf4j
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final ProviderLookupCache providerLookupCache;
+    private final long refreshExpiration;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               ProviderLookupCache providerLookupCache,
+                               @Value("${jwt.refresh-expiration:1209600}") long refreshExpiration) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.providerLookupCache = providerLookupCache;
+        this.refreshExpiration = refreshExpiration;
+    }
+
+    // Starts a new token family, one per login
+    @Transactional
+    public String issue(UUID providerId) {
+        return issue(providerId, UUID.randomUUID(), LocalDateTime.now());
+    }
+
+    // Failures that revoke a family must commit, so the rollback is suppressed for them
+    @Transactional(noRollbackFor = AuthenticationService.AuthenticationException.class)
+    public Rotation rotate(String rawToken) {
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new AuthenticationService.AuthenticationException(
+                        "Invalid refresh token", "unknown_token"));
+
+        // A rotated token presented again was copied; end every session descended from the same login
+        if (token.getRevokedAt() != null) {
+            revokeReusedFamily(token, now);
+            throw new AuthenticationService.AuthenticationException("Invalid refresh token", "reused");
+        }
+        if (!token.getExpiresAt().isAfter(now)) {
+            throw new AuthenticationService.AuthenticationException("Refresh token has expired", "expired");
+        }
+        // Lost a race with a concurrent rotation of the same token, which is reuse as well
+        if (refreshTokenRepository.revokeIfActive(token.getId(), now) == 0) {
+            revokeReusedFamily(token, now);
+            throw new AuthenticationService.AuthenticationException("Invalid refresh token", "reused");
+        }
+
+        ProviderLoginView provider = providerLookupCache.findLoginViewById(token.getProviderId())
+                .filter(ProviderLoginView::isActive)
+                .orElse(null);
+        if (provider == null) {
+            refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+            throw new AuthenticationService.AuthenticationException(
+                    "Account is inactive. Please contact support.", "inactive");
+        }
+        return new Rotation(provider, issue(token.getProviderId(), token.getFamilyId(), now));
+    }
+
+    // Ends the session the token belongs to; tokens of other providers are left alone
+    @Transactional
+    public void revoke(String rawToken, UUID providerId) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .filter(token -> token.getProviderId().equals(providerId))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+    }
+
+    @Transactional
+    public void revokeAll(UUID providerId) {
+        refreshTokenRepository.revokeAllForProvider(providerId, LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh-cleanup-interval-ms:3600000}")
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+        if (deleted > 0) {
+            log.debug("Purged {} expired refresh tokens", deleted);
+        }
+    }
+
+    public long getRefreshExpirationTime() {
+        return refreshExpiration;
+    }
+
+    private String issue(UUID providerId, UUID familyId, LocalDateTime now) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(hash(rawToken));
+        token.setProviderId(providerId);
+        token.setFamilyId(familyId);
+        token.setCreatedAt(now);
+        token.setExpiresAt(now.plusSeconds(refreshExpiration));
+        refreshTokenRepository.save(token);
+        return rawToken;
+    }
+
+    private void revokeReusedFamily(RefreshToken token, LocalDateTime now) {
+        int revoked = refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+        log.warn("Refresh token reuse for provider {}; revoked {} tokens in family {}",
+                token.getProviderId(), revoked, token.getFamilyId());
+    }
+
+    static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+            char[] hex = new char[digest.length * 2];
+            for (int i = 0; i < digest.length; i++) {
+                hex[i * 2] = HEX[(digest[i] >> 4) & 0xF];
+                hex[i * 2 + 1] = HEX[digest[i] & 0xF];
+            }
+            return new String(hex);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Rotation {
+        private final ProviderLoginView provider;
+        private final String refreshToken;
+    }
+}
@@ -0,0 +1,158 @@
+package com.provider.registration.service;
+
+import com.provider.registration.repository.ProviderRepository;
+import com.provider.registration.repository.ProviderUniqueKeys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * In-memory Bloom filters over the provider unique keys. Registration only has to query the
+ * database when one of the filters reports a possible hit; a "definitely absent" answer lets it
+ * skip the duplicate check, with the unique constraints still guarding against races. A key set
+ * is a possible hit when any of its three filters reports one, so a new registration reaches the
+ * database about three times as often as the configured per-filter false-positive rate.
+ */
+@Component
+@Slf4j
+public class RegistrationKeyFilter {
+
+    private final ProviderRepository providerRepository;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private final Counter skippedChecks;
+    private final Counter possibleHits;
+
+    // Until the first load finishes every key is treated as a possible hit
+    private volatile Filters current;
+    private volatile Filters building;
+
+    public RegistrationKeyFilter(ProviderRepository providerRepository,
+                                 @Value("${registration.bloom-filter.expected-insertions:1000000}") long expectedInsertions,
+                                 @Value("${registration.bloom-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                                 MeterRegistry meterRegistry) {
+        this.providerRepository = providerRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+
+        this.skippedChecks = Counter.builder("registration.bloom.checks")
+                .tag("result", "absent")
+                .register(meterRegistry);
+        this.possibleHits = Counter.builder("registration.bloom.checks")
+                .tag("result", "possible")
+                .register(meterRegistry);
+        Gauge.builder("registration.bloom.memory", this, RegistrationKeyFilter::getMemoryBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("registration.bloom.false.positive.rate", this, RegistrationKeyFilter::getExpectedFalsePositiveRate)
+                .register(meterRegistry);
+    }
+
+    public boolean mightExist(String email, String phoneNumber, String licenseNumber) {
+        Filters filters = current;
+        boolean possible = filters == null
+                || filters.emails.mightContain(email)
+                || filters.phoneNumbers.mightContain(phoneNumber)
+                || filters.licenseNumbers.mightContain(licenseNumber);
+        (possible ? possibleHits : skippedChecks).increment();
+        return possible;
+    }
+
+    public void record(String email, String phoneNumber, String licenseNumber) {
+        // Keys saved while a rebuild is scanning the table must land in the new filters too. The
+        // builder is read first: rebuild() publishes current before clearing it, so a null here means
+        // either the scan has not started (and will see the saved key) or current is already the new one
+        Filters next = building;
+        Filters filters = current;
+        if (next != null) {
+            next.put(email, phoneNumber, licenseNumber);
+        }
+        if (filters != null && filters != next) {
+            filters.put(email, phoneNumber, licenseNumber);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        long size = Math.max(expectedInsertions, providerRepository.count() * 2);
+        Filters next = new Filters(size, falsePositiveRate);
+        building = next;
+        try (Stream<ProviderUniqueKeys> keys = providerRepository.streamAllKeys()) {
+            keys.forEach(key -> next.put(key.getEmail(), key.getPhoneNumber(), key.getLicenseNumber()));
+        } catch (RuntimeException | Error e) {
+            building = null;
+            throw e;
+        }
+        // Publish before detaching the builder: keys recorded in between still reach one of the two
+        current = next;
+        building = null;
+        log.info("Registration key filters loaded {} providers in {} ms using {} bytes",
+                next.emails.getInsertions(), System.currentTimeMillis() - start, next.getMemoryBytes());
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        Filters filters = current;
+        stats.put("ready", filters != null);
+        if (filters != null) {
+            stats.put("insertions", filters.emails.getInsertions());
+            stats.put("bitsPerFilter", filters.emails.getBitSize());
+            stats.put("hashFunctions", filters.emails.getHashFunctions());
+            stats.put("memoryBytes", filters.getMemoryBytes());
+            stats.put("configuredFalsePositiveRate", falsePositiveRate);
+            stats.put("expectedFalsePositiveRate", getExpectedFalsePositiveRate());
+        }
+        return stats;
+    }
+
+    private long getMemoryBytes() {
+        Filters filters = current;
+        return filters == null ? 0 : filters.getMemoryBytes();
+    }
+
+    // Combined over the three filters, since a hit in any of them sends the check to the database
+    private double getExpectedFalsePositiveRate() {
+        Filters filters = current;
+        if (filters == null) {
+            return 1.0;
+        }
+        return 1 - (1 - filters.emails.getExpectedFalsePositiveRate())
+                * (1 - filters.phoneNumbers.getExpectedFalsePositiveRate())
+                * (1 - filters.licenseNumbers.getExpectedFalsePositiveRate());
+    }
+
+    private static class Filters {
+        private final BloomFilter emails;
+        private final BloomFilter phoneNumbers;
+        private final BloomFilter licenseNumbers;
+
+        Filters(long expectedInsertions, double falsePositiveRate) {
+            this.emails = BloomFilter.create(expectedInsertions, falsePositiveRate);
+            this.phoneNumbers = BloomFilter.create(expectedInsertions, falsePositiveRate);
+            this.licenseNumbers = BloomFilter.create(expectedInsertions, falsePositiveRate);
+        }
+
+        void put(String email, String phoneNumber, String licenseNumber) {
+            emails.put(email);
+            phoneNumbers.put(phoneNumber);
+            licenseNumbers.put(licenseNumber);
+        }
+
+        long getMemoryBytes() {
+            return emails.getMemoryBytes() + phoneNumbers.getMemoryBytes() + licenseNumbers.getMemoryBytes();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.provider.registration.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// Exposes the registration key filter sizing and a manual rebuild under /actuator/registrationfilter
+@Component
+@Endpoint(id = "registrationfilter")
+@RequiredArgsConstructor
+public class RegistrationKeyFilterEndpoint {
+
+    private final RegistrationKeyFilter registrationKeyFilter;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return registrationKeyFilter.getStats();
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        registrationKeyFilter.rebuild();
+        return registrationKeyFilter.getStats();
+    }
+}
@@ -0,0 +1,85 @@
+package com.provider.registration.validation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Password rules enforced by {@link StrongPasswordValidator}, configured under password.policy.*.
+ * Special characters are resolved through a lookup table so validation never scans the set itself.
+ */
+@Component
+public class PasswordPolicy {
+
+    public static final int DEFAULT_MIN_LENGTH = 8;
+    public static final String DEFAULT_SPECIAL_CHARACTERS = "!@#$%^&*()_+-=[]{};':\"\\|,.<>/?";
+
+    private static final int ASCII = 128;
+
+    private final int minLength;
+    private final boolean requireUppercase;
+    private final boolean requireLowercase;
+    private final boolean requireDigit;
+    private final boolean requireSpecial;
+    private final String specialCharacters;
+    private final boolean[] asciiSpecial = new boolean[ASCII];
+
+    private final String minLengthMessage;
+
+    public PasswordPolicy(@Value("${password.policy.min-length:8}") int minLength,
+                          @Value("${password.policy.require-uppercase:true}") boolean requireUppercase,
+                          @Value("${password.policy.require-lowercase:true}") boolean requireLowercase,
+                          @Value("${password.policy.require-digit:true}") boolean requireDigit,
+                          @Value("${password.policy.require-special:true}") boolean requireSpecial,
+                          @Value("${password.policy.special-characters:}") String specialCharacters) {
+        if (minLength < 1) {
+            throw new IllegalArgumentException("password.policy.min-length must be positive");
+        }
+        this.minLength = minLength;
+        this.requireUppercase = requireUppercase;
+        this.requireLowercase = requireLowercase;
+        this.requireDigit = requireDigit;
+        this.requireSpecial = requireSpecial;
+        // An empty value keeps the default set, which is awkward to express as a property placeholder default
+        this.specialCharacters = specialCharacters == null || specialCharacters.isEmpty()
+                ? DEFAULT_SPECIAL_CHARACTERS : specialCharacters;
+        for (int i = 0; i < this.specialCharacters.length(); i++) {
+            char c = this.specialCharacters.charAt(i);
+            if (c < ASCII) {
+                asciiSpecial[c] = true;
+            }
+        }
+        this.minLengthMessage = "Password must be at least " + minLength + " characters long";
+    }
+
+    public static PasswordPolicy defaults() {
+        return new PasswordPolicy(DEFAULT_MIN_LENGTH, true, true, true, true, DEFAULT_SPECIAL_CHARACTERS);
+    }
+
+    public boolean isSpecial(char c) {
+        return c < ASCII ? asciiSpecial[c] : specialCharacters.indexOf(c) >= 0;
+    }
+
+    public int getMinLength() {
+        return minLength;
+    }
+
+    public boolean isRequireUppercase() {
+        return requireUppercase;
+    }
+
+    public boolean isRequireLowercase() {
+        return requireLowercase;
+    }
+
+    public boolean isRequireDigit() {
+        return requireDigit;
+    }
+
+    public boolean isRequireSpecial() {
+        return requireSpecial;
+    }
+
+    public String getMinLengthMessage() {
+        return minLengthMessage;
+    }
+}
@@ -1,41 +1,96 @@
 package com.provider.registration.validation;
 
+import org.springframework.beans.factory.annotation.Autowired;
+
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 
 public class StrongPasswordValidator implements ConstraintValidator<StrongPassword, String> {
 
+    static final String UPPERCASE_MESSAGE = "Password must contain at least 1 uppercase letter";
+    static final String LOWERCASE_MESSAGE = "Password must contain at least 1 lowercase letter";
+    static final String DIGIT_MESSAGE = "Password must contain at least 1 number";
+    static final String SPECIAL_MESSAGE = "Password must contain at least 1 special character";
+
+    private static final int UPPERCASE = 1;
+    private static final int LOWERCASE = 1 << 1;
+    private static final int DIGIT = 1 << 2;
+    private static final int SPECIAL = 1 << 3;
+
+    private final PasswordPolicy policy;
+    private final int requiredClasses;
+
+    public StrongPasswordValidator() {
+        this(PasswordPolicy.defaults());
+    }
+
+    // Used when Hibernate Validator obtains the validator through Spring's constraint validator factory
+    @Autowired
+    public StrongPasswordValidator(PasswordPolicy policy) {
+        this.policy = policy;
+        this.requiredClasses = (policy.isRequireUppercase() ? UPPERCASE : 0)
+                | (policy.isRequireLowercase() ? LOWERCASE : 0)
+                | (policy.isRequireDigit() ? DIGIT : 0)
+                | (policy.isRequireSpecial() ? SPECIAL : 0);
+    }
+
     @Override
     public boolean isValid(String password, ConstraintValidatorContext context) {
-        if (password == null || password.trim().isEmpty()) {
+        if (password == null) {
             return false;
         }
 
-        // Check minimum length
-        if (password.length() < 8) {
-            return false;
-        }
-
-        // Check for at least one uppercase letter
-        if (!password.matches(".*[A-Z].*")) {
-            return false;
+        // Single pass over the characters, recording which classes are present; no regex or copies
+        int found = 0;
+        boolean blank = true;
+        for (int i = 0; i < password.length(); i++) {
+            char c = password.charAt(i);
+            if (c > ' ') {
+                blank = false;
+            }
+            if (c >= 'A' && c <= 'Z') {
+                found |= UPPERCASE;
+            } else if (c >= 'a' && c <= 'z') {
+                found |= LOWERCASE;
+            } else if (c >= '0' && c <= '9') {
+                found |= DIGIT;
+            } else if (policy.isSpecial(c)) {
+                found |= SPECIAL;
+            }
         }
-
-        // Check for at least one lowercase letter
-        if (!password.matches(".*[a-z].*")) {
+        if (blank) {
             return false;
         }
 
-        // Check for at least one digit
-        if (!password.matches(".*\\d.*")) {
-            return false;
+        boolean tooShort = password.length() < policy.getMinLength();
+        int missing = requiredClasses & ~found;
+        if (!tooShort && missing == 0) {
+            return true;
         }
 
-        // Check for at least one special character
-        if (!password.matches(".*[!@#$%^&*()_+\\-=\\[\\]{};':\"\\\\|,.<>\\/?].*")) {
-            return false;
+        // Report every failed rule instead of the single annotation-level message
+        if (context != null) {
+            context.disableDefaultConstraintViolation();
+            if (tooShort) {
+                addViolation(context, policy.getMinLengthMessage());
+            }
+            if ((missing & UPPERCASE) != 0) {
+                addViolation(context, UPPERCASE_MESSAGE);
+            }
+            if ((missing & LOWERCASE) != 0) {
+                addViolation(context, LOWERCASE_MESSAGE);
+            }
+            if ((missing & DIGIT) != 0) {
+                addViolation(context, DIGIT_MESSAGE);
+            }
+            if ((missing & SPECIAL) != 0) {
+                addViolation(context, SPECIAL_MESSAGE);
+            }
         }
+        return false;
+    }
 
-        return true;
+    private static void addViolation(ConstraintValidatorContext context, String message) {
+        context.buildConstraintViolationWithTemplate(message).addConstraintViolation();
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,31 @@
+-- Baseline schema for the provider table, matching the Provider entity as of this migration
+
+create table provider (
+    id                  uuid         not null,
+    first_name          varchar(50)  not null,
+    last_name           varchar(50)  not null,
+    email               varchar(255) not null,
+    phone_number        varchar(255) not null,
+    password_hash       varchar(255) not null,
+    specialization      varchar(100) not null,
+    license_number      varchar(255) not null,
+    years_of_experience integer check (years_of_experience <= 50 and years_of_experience >= 0),
+    street              varchar(200),
+    city                varchar(100),
+    state               varchar(50),
+    zip                 varchar(255),
+    verification_status varchar(255),
+    is_active           boolean      not null,
+    created_at          timestamp    not null,
+    updated_at          timestamp    not null,
+    constraint pk_provider primary key (id),
+    constraint uk_provider_email unique (email),
+    constraint uk_provider_phone_number unique (phone_number),
+    constraint uk_provider_license_number unique (license_number)
+);
+
+-- Keyset pagination for the directory search
+create index idx_provider_specialization_id on provider (specialization, id);
+create index idx_provider_city_id on provider (city, id);
+create index idx_provider_state_id on provider (state, id);
+create index idx_provider_verification_status_id on provider (verification_status, id);
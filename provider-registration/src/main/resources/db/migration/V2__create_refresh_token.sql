@@ -0,0 +1,18 @@
+-- Hashed, rotating refresh tokens; one family per login
+
+create table refresh_token (
+    id          uuid        not null,
+    token_hash  varchar(64) not null,
+    provider_id uuid        not null,
+    family_id   uuid        not null,
+    expires_at  timestamp   not null,
+    created_at  timestamp   not null,
+    revoked_at  timestamp,
+    constraint pk_refresh_token primary key (id),
+    constraint uk_refresh_token_hash unique (token_hash)
+);
+
+-- Family revocation on reuse, per-provider revocation and the expiry purge
+create index idx_refresh_token_family_id on refresh_token (family_id);
+create index idx_refresh_token_provider_id on refresh_token (provider_id);
+create index idx_refresh_token_expires_at on refresh_token (expires_at);
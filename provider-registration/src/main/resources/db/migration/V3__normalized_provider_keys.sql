@@ -0,0 +1,27 @@
+-- Canonical unique keys (see ProviderKeyNormalizer): lower-cased email, E.164 phone number and
+-- upper-cased license number. Uniqueness moves from the submitted values to these columns, so
+-- every duplicate check and login lookup is an exact match on a unique index.
+
+alter table provider add column normalized_email varchar(255);
+alter table provider add column normalized_phone_number varchar(255);
+alter table provider add column normalized_license_number varchar(255);
+
+-- Email and license number were already stored lower/upper-cased; phone numbers were stored
+-- as submitted, with or without the leading '+'. Two existing rows for the same number in
+-- both forms make the unique constraint below fail and must be merged by hand first.
+update provider
+set normalized_email          = lower(trim(email)),
+    normalized_phone_number   = '+' || regexp_replace(phone_number, '[^0-9]', ''),
+    normalized_license_number = upper(trim(license_number));
+
+alter table provider alter column normalized_email set not null;
+alter table provider alter column normalized_phone_number set not null;
+alter table provider alter column normalized_license_number set not null;
+
+alter table provider drop constraint uk_provider_email;
+alter table provider drop constraint uk_provider_phone_number;
+alter table provider drop constraint uk_provider_license_number;
+
+alter table provider add constraint uk_provider_email unique (normalized_email);
+alter table provider add constraint uk_provider_phone_number unique (normalized_phone_number);
+alter table provider add constraint uk_provider_license_number unique (normalized_license_number);
@@ -0,0 +1,75 @@
+package com.provider.registration.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.joran.JoranConfigurator;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Encodes events with the encoder configured in logback-spring.xml, outside the Spring logging system
+class LogMaskingTest {
+
+    private LoggerContext context;
+    private Logger logger;
+    private Encoder<ILoggingEvent> encoder;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        context = new LoggerContext();
+        // Stand-ins for the springProperty values, which only Spring Boot's configurator resolves
+        context.putProperty("appName", "provider-registration");
+        context.putProperty("queueSize", "16");
+        JoranConfigurator configurator = new JoranConfigurator();
+        configurator.setContext(context);
+        configurator.doConfigure(getClass().getResource("/logback-spring.xml"));
+
+        logger = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        AsyncAppender async = (AsyncAppender) logger.getAppender("ASYNC");
+        encoder = ((OutputStreamAppender<ILoggingEvent>) async.getAppender("JSON_CONSOLE")).getEncoder();
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.stop();
+    }
+
+    @Test
+    void encode_ShouldLeaveNonPhoneNumbersIntact() {
+        // Act
+        String json = encode("Filter SessionManagementFilter@12345678 handled 123456789 requests in 4096123 ms");
+
+        // Assert
+        assertTrue(json.contains("SessionManagementFilter@12345678"));
+        assertTrue(json.contains("123456789 requests in 4096123 ms"));
+        assertFalse(json.contains("***PHONE***"));
+    }
+
+    @Test
+    void encode_ShouldMaskE164AndLabelledPhoneNumbers() {
+        // Act
+        String e164 = encode("Calling +14155550123 now");
+        String labelled = encode("Phone number already registered: 14155550123");
+
+        // Assert
+        assertTrue(e164.contains("Calling ***PHONE*** now"));
+        assertTrue(labelled.contains("Phone number already registered: ***PHONE***"));
+        assertFalse(e164.contains("4155550123") || labelled.contains("4155550123"));
+    }
+
+    private String encode(String message) {
+        LoggingEvent event = new LoggingEvent(Logger.FQCN, logger, Level.INFO, message, null, null);
+        return new String(encoder.encode(event), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,48 @@
+package com.provider.registration.config;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestIdFilterTest {
+
+    private final RequestIdFilter filter = new RequestIdFilter();
+
+    @Test
+    void doFilter_ShouldReuseValidCallerRequestIdAndClearMdcAfterwards() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(RequestIdFilter.HEADER, "abc-123");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        // Act
+        filter.doFilter(request, response, (req, res) -> seen.set(MDC.get(RequestIdFilter.MDC_KEY)));
+
+        // Assert
+        assertEquals("abc-123", seen.get());
+        assertEquals("abc-123", response.getHeader(RequestIdFilter.HEADER));
+        assertNull(MDC.get(RequestIdFilter.MDC_KEY));
+    }
+
+    @Test
+    void doFilter_ShouldReplaceMalformedRequestId() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(RequestIdFilter.HEADER, "bad id\n{\"forged\":true}");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, (req, res) -> { });
+
+        // Assert
+        String requestId = response.getHeader(RequestIdFilter.HEADER);
+        assertNotNull(requestId);
+        assertEquals(36, requestId.length());
+    }
+}
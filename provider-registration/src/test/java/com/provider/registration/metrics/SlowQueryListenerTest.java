@@ -0,0 +1,72 @@
+package com.provider.registration.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowQueryListenerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SlowQueryListener listener;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        listener = new SlowQueryListener(100, 1.0, 10);
+        listener.bindTo(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        listener.shutdown();
+    }
+
+    @Test
+    void afterQuery_ShouldTimeEveryStatementAndCountOnlySlowOnes() {
+        // Act
+        listener.afterQuery(execution(5), Collections.singletonList(new QueryInfo("select 1")));
+        listener.afterQuery(execution(250), Collections.singletonList(new QueryInfo("select 2")));
+
+        // Assert
+        assertEquals(2, meterRegistry.get("db.query").tag("batch", "false").timer().count());
+        assertEquals(1.0, meterRegistry.get("db.query.slow").counter().count());
+        assertEquals(0.0, meterRegistry.get("db.query.slow.dropped").counter().count());
+    }
+
+    @Test
+    void maskParameters_ShouldHideStringsAndKeepScalarsInBindOrder() throws NoSuchMethodException {
+        // Arrange
+        ParameterSetOperation email = new ParameterSetOperation(
+                PreparedStatement.class.getMethod("setString", int.class, String.class),
+                new Object[]{2, "john.doe@example.com"});
+        ParameterSetOperation years = new ParameterSetOperation(
+                PreparedStatement.class.getMethod("setInt", int.class, int.class),
+                new Object[]{1, 10});
+        ParameterSetOperation missing = new ParameterSetOperation(
+                PreparedStatement.class.getMethod("setNull", int.class, int.class),
+                new Object[]{3, 12});
+
+        // Act
+        String masked = SlowQueryListener.maskParameters(Arrays.asList(email, years, missing));
+
+        // Assert
+        assertEquals("[10, <string:20>, null]", masked);
+        assertFalse(masked.contains("example.com"));
+    }
+
+    private static ExecutionInfo execution(long elapsedMillis) {
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setElapsedTime(elapsedMillis);
+        return executionInfo;
+    }
+}
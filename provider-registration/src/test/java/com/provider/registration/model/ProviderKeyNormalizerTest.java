@@ -0,0 +1,59 @@
+package com.provider.registration.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProviderKeyNormalizerTest {
+
+    @Test
+    void email_ShouldTrimAndLowerCaseIndependentOfDefaultLocale() {
+        // Arrange
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+
+        // Act
+        String normalized;
+        try {
+            normalized = ProviderKeyNormalizer.email("  INFO@Example.COM ");
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+
+        // Assert
+        assertEquals("info@example.com", normalized);
+    }
+
+    @Test
+    void phoneNumber_ShouldProduceE164WithOrWithoutLeadingPlus() {
+        // Act & Assert
+        assertEquals("+14155550123", ProviderKeyNormalizer.phoneNumber("14155550123"));
+        assertEquals("+14155550123", ProviderKeyNormalizer.phoneNumber(" +14155550123 "));
+    }
+
+    @Test
+    void licenseNumber_ShouldTrimAndUpperCase() {
+        // Act & Assert
+        assertEquals("LIC123456", ProviderKeyNormalizer.licenseNumber(" lic123456"));
+    }
+
+    @Test
+    void normalizeKeys_ShouldKeepSubmittedValuesAlongsideCanonicalForms() {
+        // Arrange
+        Provider provider = new Provider();
+        provider.setEmail("John.Doe@Example.com");
+        provider.setPhoneNumber("14155550123");
+        provider.setLicenseNumber("lic123");
+
+        // Act
+        provider.normalizeKeys();
+
+        // Assert
+        assertEquals("John.Doe@Example.com", provider.getEmail());
+        assertEquals("john.doe@example.com", provider.getNormalizedEmail());
+        assertEquals("+14155550123", provider.getNormalizedPhoneNumber());
+        assertEquals("LIC123", provider.getNormalizedLicenseNumber());
+    }
+}
@@ -0,0 +1,42 @@
+package com.provider.registration.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedUuidGeneratorTest {
+
+    @Test
+    void nextUuid_ShouldBeVersion7WithEmbeddedTimestamp() {
+        // Arrange
+        long before = System.currentTimeMillis();
+
+        // Act
+        UUID uuid = TimeOrderedUuidGenerator.nextUuid();
+
+        // Assert
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        long timestamp = uuid.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before && timestamp <= System.currentTimeMillis() + 1000);
+    }
+
+    @Test
+    void nextUuid_ShouldIncreaseStrictlyInDatabaseOrder() {
+        // Arrange
+        Set<UUID> seen = new HashSet<>();
+        UUID previous = TimeOrderedUuidGenerator.nextUuid();
+
+        // Act & Assert: uuid columns compare the two halves as unsigned values
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = TimeOrderedUuidGenerator.nextUuid();
+            assertTrue(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits()) > 0);
+            assertTrue(seen.add(next));
+            previous = next;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.provider.registration.repository;
+
+import com.provider.registration.model.Provider;
+import com.provider.registration.model.VerificationStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProviderLookupCacheTest {
+
+    @Mock
+    private ProviderRepository providerRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProviderLookupCache providerLookupCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        providerLookupCache = new ProviderLookupCache(providerRepository, 100, Duration.ofMinutes(5),
+                Duration.ofSeconds(30), meterRegistry);
+    }
+
+    @Test
+    void findLoginViewByEmail_WithUnknownEmail_ShouldCacheTheMiss() {
+        // Arrange
+        when(providerRepository.findLoginViewByEmail("bot@example.com")).thenReturn(Optional.empty());
+
+        // Act
+        providerLookupCache.findLoginViewByEmail("bot@example.com");
+        Optional<ProviderLoginView> result = providerLookupCache.findLoginViewByEmail("bot@example.com");
+
+        // Assert
+        assertFalse(result.isPresent());
+        verify(providerRepository, times(1)).findLoginViewByEmail("bot@example.com");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "providers.byEmail")
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void evict_ShouldDropCachedMissForRegisteredProvider() {
+        // Arrange
+        Provider provider = new Provider();
+        provider.setEmail("new@example.com");
+        provider.setPhoneNumber("+1234567890");
+        provider.setLicenseNumber("LIC123");
+        provider.normalizeKeys();
+        ProviderLoginView view = loginView("new@example.com", "hash");
+        when(providerRepository.findLoginViewByEmail("new@example.com"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(view));
+
+        // Act
+        providerLookupCache.findLoginViewByEmail("new@example.com");
+        providerLookupCache.evict(provider);
+        Optional<ProviderLoginView> result = providerLookupCache.findLoginViewByEmail("new@example.com");
+
+        // Assert
+        assertEquals(Optional.of(view), result);
+        verify(providerRepository, times(2)).findLoginViewByEmail("new@example.com");
+    }
+
+    @Test
+    void evict_WithLoginView_ShouldReloadAfterPasswordHashUpgrade() {
+        // Arrange
+        ProviderLoginView before = loginView("john@example.com", "oldHash");
+        ProviderLoginView after = loginView("john@example.com", "newHash");
+        when(providerRepository.findLoginViewByEmail("john@example.com"))
+                .thenReturn(Optional.of(before))
+                .thenReturn(Optional.of(after));
+
+        // Act
+        providerLookupCache.findLoginViewByEmail("john@example.com");
+        providerLookupCache.evict(before);
+        Optional<ProviderLoginView> result = providerLookupCache.findLoginViewByEmail("john@example.com");
+
+        // Assert
+        assertEquals("newHash", result.map(ProviderLoginView::getPasswordHash).orElse(null));
+    }
+
+    @Test
+    void evict_DuringInFlightLoad_ShouldNotLeaveLoadedValueCached() throws Exception {
+        // Arrange
+        ProviderLoginView before = loginView("john@example.com", "oldHash");
+        ProviderLoginView after = loginView("john@example.com", "newHash");
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(providerRepository.findLoginViewByEmail("john@example.com"))
+                .thenAnswer(invocation -> {
+                    loading.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return Optional.of(before);
+                })
+                .thenReturn(Optional.of(after));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // Act
+        try {
+            Future<Optional<ProviderLoginView>> inFlight =
+                    executor.submit(() -> providerLookupCache.findLoginViewByEmail("john@example.com"));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            providerLookupCache.evict(before);
+            release.countDown();
+            inFlight.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        Optional<ProviderLoginView> result = providerLookupCache.findLoginViewByEmail("john@example.com");
+
+        // Assert
+        assertEquals("newHash", result.map(ProviderLoginView::getPasswordHash).orElse(null));
+        verify(providerRepository, times(2)).findLoginViewByEmail("john@example.com");
+    }
+
+    private static ProviderLoginView loginView(String email, String passwordHash) {
+        return new ProviderLoginView(UUID.randomUUID(), "John", "Doe", email, passwordHash, "Cardiology",
+                VerificationStatus.PENDING, true, LocalDateTime.now());
+    }
+}
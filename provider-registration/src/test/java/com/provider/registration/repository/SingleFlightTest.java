@@ -0,0 +1,116 @@
+package com.provider.registration.repository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight<String, String> singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("test", meterRegistry);
+    }
+
+    @Test
+    void execute_WithConcurrentCallersForSameKey_ShouldIssueOneQuery() throws Exception {
+        // Arrange
+        int callers = 16;
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger queries = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        // Act
+        List<Future<String>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("john@example.com", key -> {
+                    queries.incrementAndGet();
+                    await(release);
+                    return "provider";
+                })));
+            }
+            // Hold the query until every other caller has joined it
+            while (count("coalesced") < callers - 1) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            // Assert
+            for (Future<String> result : results) {
+                assertEquals("provider", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, queries.get());
+        assertEquals(1.0, count("issued"));
+        assertEquals(callers - 1.0, count("coalesced"));
+    }
+
+    @Test
+    void execute_WhileOtherKeyIsSlow_ShouldNotWait() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> slow = executor.submit(() -> singleFlight.execute("slow@example.com", key -> {
+                await(release);
+                return "slow";
+            }));
+
+            // Act
+            String fast = singleFlight.execute("fast@example.com", key -> "fast");
+
+            // Assert
+            assertEquals("fast", fast);
+            assertFalse(slow.isDone());
+            release.countDown();
+            assertEquals("slow", slow.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_AfterFailedQuery_ShouldIssueNewQuery() {
+        // Arrange
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("john@example.com", key -> {
+            throw new IllegalStateException("connection reset");
+        }));
+
+        // Act
+        String result = singleFlight.execute("john@example.com", key -> "provider");
+
+        // Assert
+        assertEquals("provider", result);
+        assertEquals(2.0, count("issued"));
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("provider.lookup.queries").tag("lookup", "test").tag("result", result)
+                .counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
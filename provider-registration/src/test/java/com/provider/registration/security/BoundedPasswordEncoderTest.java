@@ -0,0 +1,133 @@
+package com.provider.registration.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        encoder.shutdown();
+    }
+
+    @Test
+    void encodeAndMatches_ShouldDelegateOnHashingPool() {
+        // Arrange
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(false), 1, 1, 1, meterRegistry);
+
+        // Act & Assert
+        assertEquals("hashed:secret", encoder.encode("secret"));
+        assertTrue(encoder.matches("secret", "hashed:secret"));
+        assertFalse(encoder.matches("other", "hashed:secret"));
+        assertEquals(1, meterRegistry.get("password.hashing.duration").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("password.hashing.duration").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void encode_WhenPoolAndQueueAreFull_ShouldRejectImmediately() throws Exception {
+        // Arrange: one thread busy hashing, one request waiting in the queue
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(true), 1, 1, 3, meterRegistry);
+        callers.submit(() -> encoder.encode("first"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        callers.submit(() -> encoder.encode("second"));
+        while (meterRegistry.get("password.hashing.queue.depth").gauge().value() < 1) {
+            Thread.sleep(5);
+        }
+
+        // Act & Assert
+        BoundedPasswordEncoder.CapacityExceededException exception = assertThrows(
+                BoundedPasswordEncoder.CapacityExceededException.class,
+                () -> encoder.encode("third")
+        );
+        assertEquals(3, exception.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+    }
+
+    @Test
+    void encodeAll_WithBatchLargerThanPoolAndQueue_ShouldHashEveryItem() {
+        // Arrange
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(false), 2, 2, 1, meterRegistry);
+        List<String> passwords = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            passwords.add("secret" + i);
+        }
+
+        // Act
+        List<String> hashes = encoder.encodeAll(passwords);
+
+        // Assert
+        assertEquals(50, hashes.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals("hashed:secret" + i, hashes.get(i));
+        }
+        assertEquals(0.0, meterRegistry.get("password.hashing.rejected").counter().count());
+    }
+
+    @Test
+    void encodeAll_WhileBatchIsHashing_ShouldLeaveQueueFreeForSingleRequests() throws Exception {
+        // Arrange: one thread and one queue slot; the batch may only occupy the thread
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(true), 1, 1, 1, meterRegistry);
+        Future<List<String>> batch = callers.submit(() -> encoder.encodeAll(Arrays.asList("a", "b", "c")));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act
+        Future<String> login = callers.submit(() -> encoder.encode("login"));
+        while (meterRegistry.get("password.hashing.queue.depth").gauge().value() < 1) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        // Assert
+        assertEquals("hashed:login", login.get(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("hashed:a", "hashed:b", "hashed:c"), batch.get(5, TimeUnit.SECONDS));
+        assertEquals(0.0, meterRegistry.get("password.hashing.rejected").counter().count());
+    }
+
+    private class BlockingEncoder implements PasswordEncoder {
+        private final boolean block;
+
+        BlockingEncoder(boolean block) {
+            this.block = block;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            if (block) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals("hashed:" + rawPassword);
+        }
+    }
+}
@@ -33,6 +33,7 @@ class JwtTokenUtilTest {
         ReflectionTestUtils.setField(jwtTokenUtil, "secret", "test-secret-key-that-is-long-enough-for-hs512-algorithm-and-must-be-at-least-512-bits-long-for-security-compliance");
         ReflectionTestUtils.setField(jwtTokenUtil, "expiration", 3600L);
         ReflectionTestUtils.setField(jwtTokenUtil, "issuer", "test-issuer");
+        jwtTokenUtil.init();
     }
 
     @Test
@@ -177,4 +178,57 @@ class JwtTokenUtilTest {
         assertNotNull(expiration);
         assertTrue(expiration.after(new Date()));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void parseToken_ShouldReturnAllClaimsFromSingleParse() {
+        // Arrange
+        String token = jwtTokenUtil.generateToken(testProviderId, testEmail, testSpecialization);
+
+        // Act
+        ParsedToken parsedToken = jwtTokenUtil.parseToken(token);
+
+        // Assert
+        assertEquals(testEmail, parsedToken.getEmail());
+        assertEquals(testProviderId, parsedToken.getProviderId());
+        assertEquals(testSpecialization, parsedToken.getSpecialization());
+        assertTrue(parsedToken.getExpiration().after(new Date()));
+    }
+
+    @Test
+    void generateToken_ShouldAssignUniqueTokenId() {
+        // Act
+        ParsedToken first = jwtTokenUtil.parseToken(jwtTokenUtil.generateToken(testProviderId, testEmail, testSpecialization));
+        ParsedToken second = jwtTokenUtil.parseToken(jwtTokenUtil.generateToken(testProviderId, testEmail, testSpecialization));
+
+        // Assert
+        assertNotNull(first.getTokenId());
+        assertNotNull(first.getIssuedAt());
+        assertNotEquals(first.getTokenId(), second.getTokenId());
+    }
+
+    @Test
+    void parseToken_ShouldKeepMillisecondIssueTime() {
+        // Arrange
+        long before = System.currentTimeMillis();
+
+        // Act
+        ParsedToken parsedToken = jwtTokenUtil.parseToken(
+                jwtTokenUtil.generateToken(testProviderId, testEmail, testSpecialization));
+
+        // Assert
+        long issuedAt = parsedToken.getIssuedAt().getTime();
+        assertTrue(issuedAt >= before && issuedAt <= System.currentTimeMillis());
+    }
+
+    @Test
+    void parseValidToken_WithExpiredToken_ShouldReturnEmpty() {
+        // Arrange
+        ReflectionTestUtils.setField(jwtTokenUtil, "expiration", -60L);
+        String token = jwtTokenUtil.generateToken(testProviderId, testEmail, testSpecialization);
+
+        // Act & Assert
+        assertFalse(jwtTokenUtil.parseValidToken(token).isPresent());
+        assertFalse(jwtTokenUtil.validateToken(token));
+        assertTrue(jwtTokenUtil.isTokenExpired(token));
+    }
+}
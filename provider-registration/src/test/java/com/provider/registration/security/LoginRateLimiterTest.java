@@ -0,0 +1,85 @@
+package com.provider.registration.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+
+    private InMemoryRateLimitStore store;
+    private LoginRateLimiter loginRateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryRateLimitStore(now::get);
+        loginRateLimiter = new LoginRateLimiter(store, 10, 10, 3, 3, Duration.ofMinutes(10),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void checkLogin_WhenEmailBucketIsExhausted_ShouldRejectWithRetryAfter() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            loginRateLimiter.checkLogin("john.doe@example.com", "10.0.0.1");
+        }
+
+        // Act & Assert
+        LoginRateLimiter.RateLimitExceededException exception = assertThrows(
+                LoginRateLimiter.RateLimitExceededException.class,
+                () -> loginRateLimiter.checkLogin("JOHN.DOE@example.com", "10.0.0.2")
+        );
+        assertEquals(20, exception.getRetryAfterSeconds());
+        assertDoesNotThrow(() -> loginRateLimiter.checkLogin("jane.doe@example.com", "10.0.0.1"));
+    }
+
+    @Test
+    void checkLogin_WhenIpBucketIsExhausted_ShouldRejectAnyEmail() {
+        // Arrange
+        for (int i = 0; i < 10; i++) {
+            loginRateLimiter.checkLogin("user" + i + "@example.com", "10.0.0.1");
+        }
+
+        // Act & Assert
+        assertThrows(LoginRateLimiter.RateLimitExceededException.class,
+                () -> loginRateLimiter.checkLogin("someone@example.com", "10.0.0.1"));
+    }
+
+    @Test
+    void tryConsume_ShouldRefillOverTimeEvenWhenPolledFrequently() {
+        // Arrange: 1 token per 20 seconds
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, store.tryConsume("email:slow", 3, 0.05));
+        }
+
+        // Act: poll every 10 ms for 20 seconds
+        boolean refilled = false;
+        for (int i = 0; i < 2_000 && !refilled; i++) {
+            now.addAndGet(10);
+            refilled = store.tryConsume("email:slow", 3, 0.05) == 0;
+        }
+
+        // Assert
+        assertTrue(refilled);
+    }
+
+    @Test
+    void evictIdle_ShouldDropUntouchedBuckets() {
+        // Arrange
+        store.tryConsume("ip:10.0.0.1", 10, 1);
+        now.addAndGet(Duration.ofMinutes(11).toMillis());
+        store.tryConsume("ip:10.0.0.2", 10, 1);
+
+        // Act
+        store.evictIdle(Duration.ofMinutes(10).toMillis());
+
+        // Assert
+        assertEquals(1, store.size());
+    }
+}
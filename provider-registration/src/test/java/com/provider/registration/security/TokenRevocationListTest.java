@@ -0,0 +1,178 @@
+package com.provider.registration.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenRevocationListTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void isRevoked_ShouldMatchOnlyRevokedTokenIds() {
+        // Arrange
+        TokenRevocationList revocationList = inMemory();
+        UUID providerId = UUID.randomUUID();
+        ParsedToken revoked = token(providerId, 600);
+        ParsedToken other = token(providerId, 600);
+
+        // Act
+        revocationList.revoke(revoked);
+
+        // Assert
+        assertTrue(revocationList.isRevoked(revoked));
+        assertFalse(revocationList.isRevoked(other));
+        assertEquals(1, revocationList.getRevokedTokenCount());
+    }
+
+    @Test
+    void isRevoked_ShouldFindTokensAcrossManyBuckets() {
+        // Arrange
+        TokenRevocationList revocationList = inMemory();
+        UUID providerId = UUID.randomUUID();
+        ParsedToken[] tokens = new ParsedToken[10_000];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = token(providerId, 60 + i % 840);
+            revocationList.revoke(tokens[i]);
+        }
+
+        // Act & Assert
+        assertTrue(Arrays.stream(tokens).allMatch(revocationList::isRevoked));
+        assertFalse(revocationList.isRevoked(token(providerId, 300)));
+        assertEquals(tokens.length, revocationList.getRevokedTokenCount());
+    }
+
+    @Test
+    void revokeProvider_ShouldRejectTokensIssuedBeforeCutoff() {
+        // Arrange
+        TokenRevocationList revocationList = inMemory();
+        UUID providerId = UUID.randomUUID();
+        ParsedToken issuedEarlier = new ParsedToken("test@example.com", providerId, "Cardiology",
+                new Date(System.currentTimeMillis() + 600_000), UUID.randomUUID(),
+                new Date(System.currentTimeMillis() - 60_000));
+
+        // Act
+        revocationList.revokeProvider(providerId);
+
+        // Assert
+        assertTrue(revocationList.isRevoked(issuedEarlier));
+        assertFalse(revocationList.isRevoked(token(UUID.randomUUID(), 600)));
+    }
+
+    @Test
+    void revokeProvider_ShouldAcceptTokenIssuedAfterCutoffInSameSecond() throws Exception {
+        // Arrange
+        TokenRevocationList revocationList = inMemory();
+        UUID providerId = UUID.randomUUID();
+        revocationList.revokeProvider(providerId);
+        Thread.sleep(2);
+
+        // Act
+        long issuedAt = System.currentTimeMillis();
+        ParsedToken issuedAfter = new ParsedToken("test@example.com", providerId, "Cardiology",
+                new Date(issuedAt + 900_000), UUID.randomUUID(), new Date(issuedAt));
+
+        // Assert
+        assertFalse(revocationList.isRevoked(issuedAfter));
+    }
+
+    @Test
+    void load_WithLegacySecondCutoff_ShouldRejectTokensFromThatWholeSecond() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("revoked-tokens.log");
+        long now = System.currentTimeMillis() / 1000;
+        UUID providerId = UUID.randomUUID();
+        Files.write(file, Arrays.asList("P " + providerId + " " + now), StandardCharsets.UTF_8);
+
+        // Act
+        TokenRevocationList revocationList = new TokenRevocationList(60, 900, file.toString(),
+                new SimpleMeterRegistry());
+
+        // Assert
+        assertTrue(revocationList.isRevoked(new ParsedToken("test@example.com", providerId, "Cardiology",
+                new Date((now + 900) * 1000), UUID.randomUUID(), new Date(now * 1000 + 999))));
+        assertFalse(revocationList.isRevoked(new ParsedToken("test@example.com", providerId, "Cardiology",
+                new Date((now + 900) * 1000), UUID.randomUUID(), new Date((now + 1) * 1000))));
+    }
+
+    @Test
+    void revoke_WithFile_ShouldSurviveRestart() {
+        // Arrange
+        String file = tempDir.resolve("revoked-tokens.log").toString();
+        UUID providerId = UUID.randomUUID();
+        ParsedToken revoked = token(providerId, 600);
+        UUID loggedOutEverywhere = UUID.randomUUID();
+        TokenRevocationList before = new TokenRevocationList(60, 900, file, new SimpleMeterRegistry());
+        before.revoke(revoked);
+        before.revokeProvider(loggedOutEverywhere);
+
+        // Act
+        TokenRevocationList after = new TokenRevocationList(60, 900, file, new SimpleMeterRegistry());
+
+        // Assert
+        assertTrue(after.isRevoked(revoked));
+        assertFalse(after.isRevoked(token(providerId, 600)));
+        assertTrue(after.isRevoked(new ParsedToken("test@example.com", loggedOutEverywhere, "Cardiology",
+                new Date(System.currentTimeMillis() + 600_000), UUID.randomUUID(),
+                new Date(System.currentTimeMillis() - 1_000))));
+    }
+
+    @Test
+    void load_ShouldSkipExpiredEntries() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("revoked-tokens.log");
+        long now = System.currentTimeMillis() / 1000;
+        UUID expired = UUID.randomUUID();
+        UUID live = UUID.randomUUID();
+        Files.write(file, Arrays.asList("T " + expired + " " + (now - 10), "T " + live + " " + (now + 600)),
+                StandardCharsets.UTF_8);
+
+        // Act
+        TokenRevocationList revocationList = new TokenRevocationList(60, 900, file.toString(),
+                new SimpleMeterRegistry());
+
+        // Assert
+        assertTrue(revocationList.isRevoked(new ParsedToken("test@example.com", UUID.randomUUID(), "Cardiology",
+                new Date((now + 600) * 1000), live, new Date())));
+        assertEquals(1, revocationList.getRevokedTokenCount());
+    }
+
+    @Test
+    void isRevoked_AfterLoadFailure_ShouldFailClosedWithoutRereadingFile() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("revoked-tokens.log");
+        Files.write(file, Arrays.asList("T " + UUID.randomUUID() + " not-a-time"), StandardCharsets.UTF_8);
+        TokenRevocationList revocationList = new TokenRevocationList(60, 900, file.toString(),
+                new SimpleMeterRegistry());
+        ParsedToken token = token(UUID.randomUUID(), 600);
+        assertThrows(TokenRevocationList.UnavailableException.class, () -> revocationList.isRevoked(token));
+
+        // Act
+        Files.delete(file);
+
+        // Assert
+        assertThrows(TokenRevocationList.UnavailableException.class, () -> revocationList.isRevoked(token));
+        assertThrows(TokenRevocationList.UnavailableException.class,
+                () -> revocationList.revokeProvider(token.getProviderId()));
+    }
+
+    private static TokenRevocationList inMemory() {
+        return new TokenRevocationList(60, 900, "", new SimpleMeterRegistry());
+    }
+
+    private static ParsedToken token(UUID providerId, long expiresInSeconds) {
+        return new ParsedToken("test@example.com", providerId, "Cardiology",
+                new Date(System.currentTimeMillis() + expiresInSeconds * 1000), UUID.randomUUID(),
+                new Date(System.currentTimeMillis() + 1_000));
+    }
+}
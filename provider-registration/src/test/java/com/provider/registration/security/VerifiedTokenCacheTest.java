@@ -0,0 +1,85 @@
+package com.provider.registration.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VerifiedTokenCacheTest {
+
+    @Mock
+    private JwtTokenUtil jwtTokenUtil;
+
+    private TokenRevocationList tokenRevocationList;
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        tokenRevocationList = new TokenRevocationList(60, 900, "", meterRegistry);
+        verifiedTokenCache = new VerifiedTokenCache(jwtTokenUtil, tokenRevocationList, 100, meterRegistry);
+    }
+
+    @Test
+    void verify_WithRepeatedValidToken_ShouldVerifySignatureOnce() {
+        // Arrange
+        ParsedToken parsedToken = parsedToken();
+        when(jwtTokenUtil.parseValidToken("valid-token")).thenReturn(Optional.of(parsedToken));
+
+        // Act
+        Optional<ParsedToken> first = verifiedTokenCache.verify("valid-token");
+        Optional<ParsedToken> second = verifiedTokenCache.verify("valid-token");
+
+        // Assert
+        assertEquals(Optional.of(parsedToken), first);
+        assertEquals(Optional.of(parsedToken), second);
+        verify(jwtTokenUtil, times(1)).parseValidToken("valid-token");
+    }
+
+    @Test
+    void verify_WithInvalidToken_ShouldNotCacheRejection() {
+        // Arrange
+        when(jwtTokenUtil.parseValidToken("invalid-token")).thenReturn(Optional.empty());
+
+        // Act
+        verifiedTokenCache.verify("invalid-token");
+        Optional<ParsedToken> result = verifiedTokenCache.verify("invalid-token");
+
+        // Assert
+        assertFalse(result.isPresent());
+        verify(jwtTokenUtil, times(2)).parseValidToken("invalid-token");
+    }
+
+    @Test
+    void verify_WithRevokedCachedToken_ShouldReject() {
+        // Arrange
+        ParsedToken parsedToken = parsedToken();
+        when(jwtTokenUtil.parseValidToken("valid-token")).thenReturn(Optional.of(parsedToken));
+        verifiedTokenCache.verify("valid-token");
+
+        // Act
+        tokenRevocationList.revoke(parsedToken);
+        Optional<ParsedToken> result = verifiedTokenCache.verify("valid-token");
+
+        // Assert
+        assertFalse(result.isPresent());
+        verify(jwtTokenUtil, times(1)).parseValidToken("valid-token");
+    }
+
+    private static ParsedToken parsedToken() {
+        return new ParsedToken("test@example.com", UUID.randomUUID(), "Cardiology",
+                new Date(System.currentTimeMillis() + 60_000), UUID.randomUUID(), new Date());
+    }
+}
@@ -2,26 +2,36 @@ package com.provider.registration.service;
 
 import com.provider.registration.dto.ProviderLoginRequest;
 import com.provider.registration.dto.ProviderLoginResponse;
-import com.provider.registration.model.ClinicAddress;
-import com.provider.registration.model.Provider;
+import com.provider.registration.dto.TokenRefreshRequest;
+import com.provider.registration.metrics.PipelineMetrics;
 import com.provider.registration.model.VerificationStatus;
+import com.provider.registration.repository.ProviderLoginView;
+import com.provider.registration.repository.ProviderLookupCache;
 import com.provider.registration.repository.ProviderRepository;
 import com.provider.registration.security.JwtTokenUtil;
+import com.provider.registration.security.ParsedToken;
+import com.provider.registration.security.TokenRevocationList;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
+import java.util.Date;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,41 +40,34 @@ class AuthenticationServiceTest {
     @Mock
     private ProviderRepository providerRepository;
 
+    @Mock
+    private ProviderLookupCache providerLookupCache;
+
     @Mock
     private PasswordEncoder passwordEncoder;
 
     @Mock
     private JwtTokenUtil jwtTokenUtil;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
+    @Spy
+    private PipelineMetrics pipelineMetrics = new PipelineMetrics(new SimpleMeterRegistry());
+
     @InjectMocks
     private AuthenticationService authenticationService;
 
-    private Provider testProvider;
+    private ProviderLoginView testProvider;
     private ProviderLoginRequest validLoginRequest;
     private ProviderLoginRequest invalidLoginRequest;
 
     @BeforeEach
     void setUp() {
-        UUID providerId = UUID.randomUUID();
-        LocalDateTime now = LocalDateTime.now();
-        
-        ClinicAddress address = new ClinicAddress("123 Main St", "New York", "NY", "10001");
-        
-        testProvider = new Provider();
-        testProvider.setId(providerId);
-        testProvider.setFirstName("John");
-        testProvider.setLastName("Doe");
-        testProvider.setEmail("john.doe@example.com");
-        testProvider.setPhoneNumber("+1234567890");
-        testProvider.setPasswordHash("hashedPassword");
-        testProvider.setSpecialization("Cardiology");
-        testProvider.setLicenseNumber("LIC123456");
-        testProvider.setYearsOfExperience(10);
-        testProvider.setClinicAddress(address);
-        testProvider.setVerificationStatus(VerificationStatus.PENDING);
-        testProvider.setActive(true);
-        testProvider.setCreatedAt(now);
-        testProvider.setUpdatedAt(now);
+        testProvider = loginView(true);
 
         validLoginRequest = new ProviderLoginRequest("john.doe@example.com", "StrongPass123!");
         invalidLoginRequest = new ProviderLoginRequest("nonexistent@example.com", "WrongPassword");
@@ -73,13 +76,14 @@ class AuthenticationServiceTest {
     @Test
     void login_WithValidCredentials_ShouldReturnSuccessResponse() {
         // Arrange
-        when(providerRepository.findByEmail("john.doe@example.com"))
+        when(providerLookupCache.findLoginViewByEmail("john.doe@example.com"))
                 .thenReturn(Optional.of(testProvider));
         when(passwordEncoder.matches("StrongPass123!", "hashedPassword"))
                 .thenReturn(true);
         when(jwtTokenUtil.generateToken(any(UUID.class), anyString(), anyString()))
                 .thenReturn("jwt-token-here");
         when(jwtTokenUtil.getExpirationTime()).thenReturn(3600L);
+        when(refreshTokenService.issue(testProvider.getId())).thenReturn("refresh-token-here");
 
         // Act
         ProviderLoginResponse response = authenticationService.login(validLoginRequest);
@@ -92,6 +96,7 @@ class AuthenticationServiceTest {
         assertEquals("jwt-token-here", response.getData().getAccess_token());
         assertEquals(3600L, response.getData().getExpires_in());
         assertEquals("Bearer", response.getData().getToken_type());
+        assertEquals("refresh-token-here", response.getData().getRefresh_token());
         
         ProviderLoginResponse.ProviderData providerData = response.getData().getProvider();
         assertEquals(testProvider.getId(), providerData.getId());
@@ -107,7 +112,7 @@ class AuthenticationServiceTest {
     @Test
     void login_WithInvalidEmail_ShouldThrowAuthenticationException() {
         // Arrange
-        when(providerRepository.findByEmail("nonexistent@example.com"))
+        when(providerLookupCache.findLoginViewByEmail("nonexistent@example.com"))
                 .thenReturn(Optional.empty());
 
         // Act & Assert
@@ -121,7 +126,7 @@ class AuthenticationServiceTest {
     @Test
     void login_WithInvalidPassword_ShouldThrowAuthenticationException() {
         // Arrange
-        when(providerRepository.findByEmail("john.doe@example.com"))
+        when(providerLookupCache.findLoginViewByEmail("john.doe@example.com"))
                 .thenReturn(Optional.of(testProvider));
         when(passwordEncoder.matches("WrongPassword", "hashedPassword"))
                 .thenReturn(false);
@@ -132,13 +137,15 @@ class AuthenticationServiceTest {
                 () -> authenticationService.login(new ProviderLoginRequest("john.doe@example.com", "WrongPassword"))
         );
         assertEquals("Invalid email or password", exception.getMessage());
+        assertEquals("bad_password", exception.getOutcome());
+        verify(pipelineMetrics).outcome(eq(PipelineMetrics.LOGIN), any(), eq("bad_password"));
     }
 
     @Test
     void login_WithInactiveAccount_ShouldThrowAuthenticationException() {
         // Arrange
-        testProvider.setActive(false);
-        when(providerRepository.findByEmail("john.doe@example.com"))
+        testProvider = loginView(false);
+        when(providerLookupCache.findLoginViewByEmail("john.doe@example.com"))
                 .thenReturn(Optional.of(testProvider));
 
         // Act & Assert
@@ -152,7 +159,7 @@ class AuthenticationServiceTest {
     @Test
     void login_WithEmailCaseInsensitive_ShouldWork() {
         // Arrange
-        when(providerRepository.findByEmail("john.doe@example.com"))
+        when(providerLookupCache.findLoginViewByEmail("john.doe@example.com"))
                 .thenReturn(Optional.of(testProvider));
         when(passwordEncoder.matches("StrongPass123!", "hashedPassword"))
                 .thenReturn(true);
@@ -169,4 +176,114 @@ class AuthenticationServiceTest {
         assertNotNull(response);
         assertTrue(response.isSuccess());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void login_WithOutdatedPasswordHash_ShouldUpgradeHash() {
+        // Arrange
+        when(providerLookupCache.findLoginViewByEmail("john.doe@example.com"))
+                .thenReturn(Optional.of(testProvider));
+        when(passwordEncoder.matches("StrongPass123!", "hashedPassword"))
+                .thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("hashedPassword")).thenReturn(true);
+        when(passwordEncoder.encode("StrongPass123!")).thenReturn("{bcrypt}upgradedHash");
+        when(jwtTokenUtil.generateToken(any(UUID.class), anyString(), anyString()))
+                .thenReturn("jwt-token-here");
+
+        // Act
+        ProviderLoginResponse response = authenticationService.login(validLoginRequest);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        verify(providerRepository).updatePasswordHash(eq(testProvider.getId()), eq("{bcrypt}upgradedHash"),
+                any(LocalDateTime.class));
+        verify(providerLookupCache).evict(testProvider);
+    }
+
+    @Test
+    void login_WithCurrentPasswordHash_ShouldNotRehash() {
+        // Arrange
+        when(providerLookupCache.findLoginViewByEmail("john.doe@example.com"))
+                .thenReturn(Optional.of(testProvider));
+        when(passwordEncoder.matches("StrongPass123!", "hashedPassword"))
+                .thenReturn(true);
+        when(jwtTokenUtil.generateToken(any(UUID.class), anyString(), anyString()))
+                .thenReturn("jwt-token-here");
+
+        // Act
+        authenticationService.login(validLoginRequest);
+
+        // Assert
+        verify(passwordEncoder, never()).encode(anyString());
+        verify(providerRepository, never()).updatePasswordHash(any(), anyString(), any());
+    }
+
+    @Test
+    void refresh_WithValidToken_ShouldReturnNewTokensWithoutHashing() {
+        // Arrange
+        when(refreshTokenService.rotate("old-refresh-token"))
+                .thenReturn(new RefreshTokenService.Rotation(testProvider, "new-refresh-token"));
+        when(jwtTokenUtil.generateToken(testProvider.getId(), testProvider.getEmail(), testProvider.getSpecialization()))
+                .thenReturn("jwt-token-here");
+
+        // Act
+        ProviderLoginResponse response = authenticationService.refresh(new TokenRefreshRequest("old-refresh-token"));
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertEquals("jwt-token-here", response.getData().getAccess_token());
+        assertEquals("new-refresh-token", response.getData().getRefresh_token());
+        assertEquals(testProvider.getId(), response.getData().getProvider().getId());
+        verify(passwordEncoder, never()).matches(any(), any());
+        verify(pipelineMetrics).outcome(eq(PipelineMetrics.TOKEN_REFRESH), any(), eq("success"));
+    }
+
+    @Test
+    void refresh_WithReusedToken_ShouldRecordOutcome() {
+        // Arrange
+        when(refreshTokenService.rotate("stolen-token"))
+                .thenThrow(new AuthenticationService.AuthenticationException("Invalid refresh token", "reused"));
+
+        // Act & Assert
+        assertThrows(AuthenticationService.AuthenticationException.class,
+                () -> authenticationService.refresh(new TokenRefreshRequest("stolen-token")));
+        verify(jwtTokenUtil, never()).generateToken(any(), any(), any());
+        verify(pipelineMetrics).outcome(eq(PipelineMetrics.TOKEN_REFRESH), any(), eq("reused"));
+    }
+
+    @Test
+    void logout_ShouldRevokeAccessTokenAndRefreshTokenSession() {
+        // Arrange
+        ParsedToken accessToken = accessToken();
+
+        // Act
+        authenticationService.logout(accessToken, "refresh-token", false);
+
+        // Assert
+        verify(tokenRevocationList).revoke(accessToken);
+        verify(refreshTokenService).revoke("refresh-token", accessToken.getProviderId());
+        verify(tokenRevocationList, never()).revokeProvider(any());
+    }
+
+    @Test
+    void logout_Everywhere_ShouldRevokeAllProviderTokens() {
+        // Arrange
+        ParsedToken accessToken = accessToken();
+
+        // Act
+        authenticationService.logout(accessToken, null, true);
+
+        // Assert
+        verify(tokenRevocationList).revokeProvider(accessToken.getProviderId());
+        verify(refreshTokenService).revokeAll(accessToken.getProviderId());
+    }
+
+    private static ParsedToken accessToken() {
+        return new ParsedToken("john.doe@example.com", UUID.randomUUID(), "Cardiology",
+                new Date(System.currentTimeMillis() + 60_000), UUID.randomUUID(), new Date());
+    }
+
+    private static ProviderLoginView loginView(boolean active) {
+        return new ProviderLoginView(UUID.randomUUID(), "John", "Doe", "john.doe@example.com", "hashedPassword",
+                "Cardiology", VerificationStatus.PENDING, active, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,54 @@
+package com.provider.registration.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void mightContain_ShouldNeverMissInsertedValues() {
+        // Arrange
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("provider" + i + "@example.com");
+        }
+
+        // Act & Assert
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("provider" + i + "@example.com"));
+        }
+        assertEquals(10_000, filter.getInsertions());
+    }
+
+    @Test
+    void mightContain_ShouldStayNearConfiguredFalsePositiveRate() {
+        // Arrange
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("provider" + i + "@example.com");
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("stranger" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        assertTrue(falsePositives / 100_000.0 < 0.02, "false positive rate was " + falsePositives / 100_000.0);
+        assertEquals(0.01, filter.getExpectedFalsePositiveRate(), 0.002);
+    }
+
+    @Test
+    void create_ShouldSizeBitsForExpectedInsertions() {
+        // Act
+        BloomFilter filter = BloomFilter.create(1_000_000, 0.01);
+
+        // Assert: about 9.6 bits and 7 hash functions per element at 1%
+        assertEquals(7, filter.getHashFunctions());
+        assertTrue(filter.getMemoryBytes() > 1_150_000 && filter.getMemoryBytes() < 1_250_000);
+    }
+}
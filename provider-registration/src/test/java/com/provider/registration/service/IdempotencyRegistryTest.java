@@ -0,0 +1,140 @@
+package com.provider.registration.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.provider.registration.dto.ProviderRegistrationRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyRegistryTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyRegistry idempotencyRegistry;
+    private ProviderRegistrationRequest request;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        idempotencyRegistry = new IdempotencyRegistry(new ObjectMapper(), 100, Duration.ofHours(1),
+                Duration.ofSeconds(5), meterRegistry);
+        request = new ProviderRegistrationRequest("John", "Doe", "john.doe@example.com", "+1234567890",
+                "StrongPass123!", "Cardiology", "LIC123456", 10, null);
+    }
+
+    @Test
+    void execute_WithCompletedKey_ShouldReplayResponseWithoutRunningAgain() {
+        // Arrange
+        AtomicInteger runs = new AtomicInteger();
+        idempotencyRegistry.execute("key-1", request, () -> "created-" + runs.incrementAndGet());
+
+        // Act
+        IdempotencyRegistry.Result<String> result =
+                idempotencyRegistry.execute("key-1", copyOf(request), () -> "created-" + runs.incrementAndGet());
+
+        // Assert
+        assertEquals("created-1", result.getResponse());
+        assertTrue(result.isReplayed());
+        assertEquals(1, runs.get());
+        assertEquals(1.0, meterRegistry.get("provider.idempotency").tag("result", "replayed").counter().count());
+    }
+
+    @Test
+    void execute_WithKeyReusedForDifferentRequest_ShouldReject() {
+        // Arrange
+        idempotencyRegistry.execute("key-1", request, () -> "created");
+        ProviderRegistrationRequest other = copyOf(request);
+        other.setEmail("someone.else@example.com");
+
+        // Act & Assert
+        assertThrows(IdempotencyRegistry.KeyReusedException.class,
+                () -> idempotencyRegistry.execute("key-1", other, () -> "created again"));
+    }
+
+    @Test
+    void execute_WhileFirstAttemptRuns_ShouldWaitForItsResultInsteadOfRunningAgain() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // Act
+        Future<IdempotencyRegistry.Result<String>> first;
+        Future<IdempotencyRegistry.Result<String>> retry;
+        try {
+            first = executor.submit(() -> idempotencyRegistry.execute("key-1", request, () -> {
+                runs.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "created";
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            retry = executor.submit(() -> idempotencyRegistry.execute("key-1", copyOf(request), () -> {
+                runs.incrementAndGet();
+                return "created twice";
+            }));
+            while (meterRegistry.get("provider.idempotency").tag("result", "joined").counter().count() == 0) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            // Assert
+            assertFalse(first.get(5, TimeUnit.SECONDS).isReplayed());
+            assertEquals("created", retry.get(5, TimeUnit.SECONDS).getResponse());
+            assertTrue(retry.get().isReplayed());
+            assertEquals(1, runs.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_AfterFailedAttempt_ShouldRunAgain() {
+        // Arrange
+        assertThrows(ProviderService.DuplicateResourceException.class,
+                () -> idempotencyRegistry.execute("key-1", request, () -> {
+                    throw new ProviderService.DuplicateResourceException("Email already registered");
+                }));
+
+        // Act
+        IdempotencyRegistry.Result<String> result = idempotencyRegistry.execute("key-1", request, () -> "created");
+
+        // Assert
+        assertEquals("created", result.getResponse());
+        assertFalse(result.isReplayed());
+    }
+
+    @Test
+    void execute_WithOverlongKey_ShouldReject() {
+        // Arrange
+        String key = new String(new char[IdempotencyRegistry.MAX_KEY_LENGTH + 1]).replace('\0', 'k');
+
+        // Act & Assert
+        assertThrows(IdempotencyRegistry.InvalidKeyException.class,
+                () -> idempotencyRegistry.execute(key, request, () -> "created"));
+    }
+
+    private static ProviderRegistrationRequest copyOf(ProviderRegistrationRequest request) {
+        return new ProviderRegistrationRequest(request.getFirstName(), request.getLastName(), request.getEmail(),
+                request.getPhoneNumber(), request.getPassword(), request.getSpecialization(),
+                request.getLicenseNumber(), request.getYearsOfExperience(), request.getClinicAddress());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.provider.registration.service;
+
+import com.provider.registration.dto.ProviderSuggestion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvertedIndexTest {
+
+    private InvertedIndex index;
+    private UUID johnId;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex(100, 10_000);
+        johnId = UUID.randomUUID();
+        index.add(johnId, "John", "Doe", "Cardiology", "New York");
+        index.add(UUID.randomUUID(), "Joan", "Smith", "Dermatology", "Boston");
+        index.add(UUID.randomUUID(), "Mary", "Johnson", "Pediatric Cardiology", "Chicago");
+    }
+
+    @Test
+    void search_ShouldMatchPrefixOfAnyIndexedField() {
+        // Act
+        List<String> jo = lastNames(index.search("jo", 10));
+        List<String> cardio = lastNames(index.search("CARDIO", 10));
+        List<String> york = lastNames(index.search("york", 10));
+
+        // Assert
+        assertEquals(3, jo.size());
+        assertTrue(cardio.containsAll(List.of("Doe", "Johnson")));
+        assertEquals(2, cardio.size());
+        assertEquals(List.of("Doe"), york);
+    }
+
+    @Test
+    void search_WithSeveralTokens_ShouldRequireEveryPrefix() {
+        // Act
+        List<ProviderSuggestion> suggestions = index.search("john card", 10);
+
+        // Assert
+        assertEquals(2, suggestions.size()); // John Doe and Mary Johnson, both cardiologists
+        assertTrue(index.search("joan cardio", 10).isEmpty());
+    }
+
+    @Test
+    void search_ShouldReturnEachProviderOnceAndHonourLimit() {
+        // Arrange: the same provider indexed twice, as can happen while a rebuild overlaps a registration
+        index.add(johnId, "John", "Doe", "Cardiology", "New York");
+
+        // Act & Assert
+        List<ProviderSuggestion> suggestions = index.search("doe", 10);
+        assertEquals(1, suggestions.size());
+        assertEquals(johnId, suggestions.get(0).getId());
+        assertEquals("New York", suggestions.get(0).getCity());
+        assertEquals(1, index.search("jo", 1).size());
+    }
+
+    @Test
+    void search_WithBlankQuery_ShouldReturnNothing() {
+        assertTrue(index.search("  -- ", 10).isEmpty());
+        assertTrue(index.search(null, 10).isEmpty());
+    }
+
+    @Test
+    void add_ShouldStopAtMaxDocuments() {
+        // Arrange
+        InvertedIndex bounded = new InvertedIndex(2, 10_000);
+
+        // Act & Assert
+        assertTrue(bounded.add(UUID.randomUUID(), "Ann", "Lee", "Oncology", null));
+        assertTrue(bounded.add(UUID.randomUUID(), "Bob", "Lee", "Oncology", null));
+        assertFalse(bounded.add(UUID.randomUUID(), "Cal", "Lee", "Oncology", null));
+        assertEquals(2, bounded.size());
+        assertEquals(2, bounded.search("lee", 10).size());
+    }
+
+    private static List<String> lastNames(List<ProviderSuggestion> suggestions) {
+        return suggestions.stream().map(ProviderSuggestion::getLastName).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,425 @@
+package com.provider.registration.service;
+
+import com.provider.registration.dto.ClinicAddressDto;
+import com.provider.registration.dto.ProviderBatchRegistrationResponse;
+import com.provider.registration.dto.ProviderRegistrationRequest;
+import com.provider.registration.dto.ProviderRegistrationResponse;
+import com.provider.registration.dto.ProviderSearchResponse;
+import com.provider.registration.dto.ProviderSummary;
+import com.provider.registration.metrics.PipelineMetrics;
+import com.provider.registration.model.ClinicAddress;
+import com.provider.registration.model.Provider;
+import com.provider.registration.model.VerificationStatus;
+import com.provider.registration.repository.ProviderLookupCache;
+import com.provider.registration.repository.ProviderRepository;
+import com.provider.registration.repository.ProviderSearchCriteria;
+import com.provider.registration.repository.ProviderUniqueKeys;
+import com.provider.registration.security.BoundedPasswordEncoder;
+import org.hibernate.exception.ConstraintViolationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProviderServiceTest {
+
+    @Mock
+    private ProviderRepository providerRepository;
+
+    @Mock
+    private ProviderLookupCache providerLookupCache;
+
+    @Mock
+    private RegistrationKeyFilter registrationKeyFilter;
+
+    @Mock
+    private ProviderDirectoryIndex providerDirectoryIndex;
+
+    @Mock
+    private BoundedPasswordEncoder passwordEncoder;
+
+    private final CountingTransactionManager transactionManager = new CountingTransactionManager();
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+    @Spy
+    private PipelineMetrics pipelineMetrics = new PipelineMetrics(new SimpleMeterRegistry());
+
+    @InjectMocks
+    private ProviderService providerService;
+
+    private ProviderRegistrationRequest validRequest;
+    private Provider savedProvider;
+
+    @BeforeEach
+    void setUp() {
+        validRequest = new ProviderRegistrationRequest();
+        validRequest.setFirstName("John");
+        validRequest.setLastName("Doe");
+        validRequest.setEmail("john.doe@example.com");
+        validRequest.setPhoneNumber("+1234567890");
+        validRequest.setPassword("StrongPass123!");
+        validRequest.setSpecialization("Cardiology");
+        validRequest.setLicenseNumber("LIC123456");
+        validRequest.setYearsOfExperience(10);
+        validRequest.setClinicAddress(new ClinicAddressDto("123 Main St", "New York", "NY", "10001"));
+
+        savedProvider = new Provider();
+        savedProvider.setId(UUID.randomUUID());
+        savedProvider.setFirstName("John");
+        savedProvider.setLastName("Doe");
+        savedProvider.setEmail("john.doe@example.com");
+        savedProvider.setPhoneNumber("+1234567890");
+        savedProvider.setPasswordHash("hashedPassword");
+        savedProvider.setSpecialization("Cardiology");
+        savedProvider.setLicenseNumber("LIC123456");
+        savedProvider.setYearsOfExperience(10);
+        savedProvider.setClinicAddress(new ClinicAddress("123 Main St", "New York", "NY", "10001"));
+        savedProvider.setVerificationStatus(VerificationStatus.PENDING);
+        savedProvider.setActive(true);
+        savedProvider.setCreatedAt(LocalDateTime.now());
+        savedProvider.setUpdatedAt(LocalDateTime.now());
+        savedProvider.normalizeKeys();
+
+        lenient().when(registrationKeyFilter.mightExist(any(), any(), any())).thenReturn(true);
+    }
+
+    @Test
+    void registerProvider_WithNoConflicts_ShouldSaveProvider() {
+        // Arrange
+        when(providerRepository.findConflictingKeys("john.doe@example.com", "+1234567890", "LIC123456"))
+                .thenReturn(Collections.emptyList());
+        when(passwordEncoder.encode("StrongPass123!")).thenReturn("hashedPassword");
+        when(providerRepository.saveAndFlush(any(Provider.class))).thenReturn(savedProvider);
+
+        // Act
+        ProviderRegistrationResponse response = providerService.registerProvider(validRequest);
+
+        // Assert
+        assertEquals(savedProvider.getId(), response.getId());
+        assertEquals(VerificationStatus.PENDING, response.getVerificationStatus());
+        verify(providerRepository).findConflictingKeys("john.doe@example.com", "+1234567890", "LIC123456");
+        verify(providerLookupCache).evict(savedProvider);
+        verify(providerDirectoryIndex).add(savedProvider);
+    }
+
+    @Test
+    void registerProvider_WhenKeysAreDefinitelyAbsent_ShouldSkipConflictQuery() {
+        // Arrange
+        when(registrationKeyFilter.mightExist("john.doe@example.com", "+1234567890", "LIC123456"))
+                .thenReturn(false);
+        when(passwordEncoder.encode("StrongPass123!")).thenReturn("hashedPassword");
+        when(providerRepository.saveAndFlush(any(Provider.class))).thenReturn(savedProvider);
+
+        // Act
+        providerService.registerProvider(validRequest);
+
+        // Assert
+        verify(providerRepository, never()).findConflictingKeys(any(), any(), any());
+        verify(registrationKeyFilter).record("john.doe@example.com", "+1234567890", "LIC123456");
+    }
+
+    @Test
+    void registerProvider_WithDuplicateEmail_ShouldThrowDuplicateResourceException() {
+        // Arrange
+        when(providerRepository.findConflictingKeys(any(), any(), any()))
+                .thenReturn(Collections.singletonList(keys("john.doe@example.com", "+1999999999", "OTHER1")));
+
+        // Act & Assert
+        ProviderService.DuplicateResourceException exception = assertThrows(
+                ProviderService.DuplicateResourceException.class,
+                () -> providerService.registerProvider(validRequest)
+        );
+        assertEquals("Email already registered: john.doe@example.com", exception.getMessage());
+        assertEquals(Collections.singletonList(ProviderService.FIELD_EMAIL), exception.getFields());
+        verify(passwordEncoder, never()).encode(any());
+        verify(providerRepository, never()).saveAndFlush(any(Provider.class));
+        verify(pipelineMetrics).outcome(eq(PipelineMetrics.REGISTRATION), any(), eq("duplicate"));
+        verify(pipelineMetrics).duplicate(ProviderService.FIELD_EMAIL);
+    }
+
+    @Test
+    void registerProvider_WithDifferentlyFormattedKeys_ShouldCheckCanonicalForms() {
+        // Arrange
+        validRequest.setEmail(" John.Doe@Example.COM ");
+        validRequest.setPhoneNumber("1234567890");
+        validRequest.setLicenseNumber("lic123456");
+        when(providerRepository.findConflictingKeys("john.doe@example.com", "+1234567890", "LIC123456"))
+                .thenReturn(Collections.singletonList(keys("john.doe@example.com", "+1234567890", "LIC123456")));
+
+        // Act & Assert
+        ProviderService.DuplicateResourceException exception = assertThrows(
+                ProviderService.DuplicateResourceException.class,
+                () -> providerService.registerProvider(validRequest)
+        );
+        assertEquals(Arrays.asList(ProviderService.FIELD_EMAIL, ProviderService.FIELD_PHONE_NUMBER,
+                ProviderService.FIELD_LICENSE_NUMBER), exception.getFields());
+        verify(registrationKeyFilter).mightExist("john.doe@example.com", "+1234567890", "LIC123456");
+        verify(providerRepository, never()).saveAndFlush(any(Provider.class));
+    }
+
+    @Test
+    void registerProvider_WithSeveralConflicts_ShouldReportEveryField() {
+        // Arrange
+        when(providerRepository.findConflictingKeys(any(), any(), any()))
+                .thenReturn(Arrays.asList(
+                        keys("someone.else@example.com", "+1234567890", "OTHER1"),
+                        keys("another@example.com", "+1888888888", "LIC123456")));
+
+        // Act & Assert
+        ProviderService.DuplicateResourceException exception = assertThrows(
+                ProviderService.DuplicateResourceException.class,
+                () -> providerService.registerProvider(validRequest)
+        );
+        assertEquals(Arrays.asList(ProviderService.FIELD_PHONE_NUMBER, ProviderService.FIELD_LICENSE_NUMBER),
+                exception.getFields());
+    }
+
+    @Test
+    void registerProvider_WithUniqueConstraintViolationOnSave_ShouldThrowDuplicateResourceException() {
+        // Arrange
+        when(providerRepository.findConflictingKeys(any(), any(), any())).thenReturn(Collections.emptyList());
+        when(passwordEncoder.encode("StrongPass123!")).thenReturn("hashedPassword");
+        ConstraintViolationException cause = new ConstraintViolationException(
+                "could not execute statement", new SQLException("Unique index or primary key violation"),
+                "PUBLIC.UK_PROVIDER_LICENSE_NUMBER_INDEX_F");
+        when(providerRepository.saveAndFlush(any(Provider.class)))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement", cause));
+
+        // Act & Assert
+        ProviderService.DuplicateResourceException exception = assertThrows(
+                ProviderService.DuplicateResourceException.class,
+                () -> providerService.registerProvider(validRequest)
+        );
+        assertEquals("License number already registered: LIC123456", exception.getMessage());
+        assertEquals(Collections.singletonList(ProviderService.FIELD_LICENSE_NUMBER), exception.getFields());
+        assertEquals(1, transactionManager.rollbacks.get());
+    }
+
+    @Test
+    void registerProvider_UnderConcurrentLoad_ShouldHoldNoTransactionWhileHashing() throws Exception {
+        // Arrange
+        int threads = 16;
+        CountDownLatch allHashing = new CountDownLatch(threads);
+        AtomicInteger maxOpenWhileHashing = new AtomicInteger();
+        when(passwordEncoder.encode("StrongPass123!")).thenAnswer(invocation -> {
+            assertFalse(TransactionSynchronizationManager.isActualTransactionActive());
+            // No thread leaves encode until all of them are in it, so this samples a moment of full hashing load
+            maxOpenWhileHashing.accumulateAndGet(transactionManager.open.get(), Math::max);
+            allHashing.countDown();
+            assertTrue(allHashing.await(10, TimeUnit.SECONDS));
+            return "hashedPassword";
+        });
+        when(providerRepository.saveAndFlush(any(Provider.class))).thenReturn(savedProvider);
+
+        // Act
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<ProviderRegistrationResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                ProviderRegistrationRequest request = copyOf(validRequest, "provider" + i + "@example.com",
+                        "+1555000" + (1000 + i), "LIC" + i);
+                futures.add(executor.submit(() -> providerService.registerProvider(request)));
+            }
+            for (Future<ProviderRegistrationResponse> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert: hashing load no longer translates into open transactions (and pooled connections)
+        assertEquals(0, maxOpenWhileHashing.get());
+        assertEquals(threads, transactionManager.commits.get());
+        assertEquals(0, transactionManager.open.get());
+    }
+
+    @Test
+    void registerProviders_ShouldCreateNewProvidersAndReportConflicts() {
+        // Arrange
+        ProviderRegistrationRequest taken = copyOf(validRequest, "taken@example.com", "+1222222222", "LIC222");
+        ProviderRegistrationRequest repeated = copyOf(validRequest, "JOHN.DOE@example.com", "+1333333333", "LIC333");
+        when(providerRepository.findConflictingKeysIn(any(), any(), any()))
+                .thenReturn(Collections.singletonList(keys("taken@example.com", "+1999999999", "OTHER1")));
+        when(passwordEncoder.encodeAll(anyList())).thenAnswer(ProviderServiceTest::hashAll);
+        when(providerRepository.saveAll(anyList())).thenReturn(Collections.singletonList(savedProvider));
+
+        // Act
+        ProviderBatchRegistrationResponse response =
+                providerService.registerProviders(Arrays.asList(validRequest, taken, repeated));
+
+        // Assert
+        assertEquals(3, response.getTotal());
+        assertEquals(1, response.getCreated());
+        assertEquals(2, response.getConflicts());
+        assertEquals(ProviderBatchRegistrationResponse.Status.CREATED, response.getResults().get(0).getStatus());
+        assertEquals(savedProvider.getId(), response.getResults().get(0).getProvider().getId());
+        assertEquals(Collections.singletonList(ProviderService.FIELD_EMAIL), response.getResults().get(1).getFields());
+        assertEquals(Collections.singletonList(ProviderService.FIELD_EMAIL), response.getResults().get(2).getFields());
+        verify(passwordEncoder).encodeAll(Collections.singletonList("StrongPass123!"));
+        verify(providerRepository).flush();
+    }
+
+    @Test
+    void registerProviders_WithRejectedItem_ShouldNotReserveItsOtherKeys() {
+        // Arrange: item 1 repeats item 0's email, item 2 only shares item 1's phone number
+        ProviderRegistrationRequest sameEmail =
+                copyOf(validRequest, "john.doe@example.com", "+1333333333", "LIC333");
+        ProviderRegistrationRequest samePhoneAsRejected =
+                copyOf(validRequest, "other@example.com", "+1333333333", "LIC444");
+        Provider secondProvider = new Provider();
+        secondProvider.setId(UUID.randomUUID());
+        secondProvider.setEmail("other@example.com");
+        secondProvider.setPhoneNumber("+1333333333");
+        secondProvider.setLicenseNumber("LIC444");
+        secondProvider.normalizeKeys();
+        when(providerRepository.findConflictingKeysIn(any(), any(), any())).thenReturn(Collections.emptyList());
+        when(passwordEncoder.encodeAll(anyList())).thenAnswer(ProviderServiceTest::hashAll);
+        when(providerRepository.saveAll(anyList())).thenReturn(Arrays.asList(savedProvider, secondProvider));
+
+        // Act
+        ProviderBatchRegistrationResponse response =
+                providerService.registerProviders(Arrays.asList(validRequest, sameEmail, samePhoneAsRejected));
+
+        // Assert
+        assertEquals(2, response.getCreated());
+        assertEquals(1, response.getConflicts());
+        assertEquals(Collections.singletonList(ProviderService.FIELD_EMAIL), response.getResults().get(1).getFields());
+        assertEquals(ProviderBatchRegistrationResponse.Status.CREATED, response.getResults().get(2).getStatus());
+        verify(passwordEncoder).encodeAll(Arrays.asList("StrongPass123!", "StrongPass123!"));
+    }
+
+    @Test
+    void searchProviders_WhenMoreRowsExist_ShouldReturnCursorToLastRowOfPage() {
+        // Arrange
+        ProviderSearchCriteria criteria = new ProviderSearchCriteria("Cardiology", null, null, null);
+        List<ProviderSummary> rows = Arrays.asList(summary(), summary(), summary());
+        when(providerRepository.search(criteria, null, 3)).thenReturn(rows);
+
+        // Act
+        ProviderSearchResponse response = providerService.searchProviders(criteria, null, 2);
+
+        // Assert
+        assertEquals(2, response.getProviders().size());
+        assertTrue(response.isHasMore());
+        assertEquals(rows.get(1).getId(), response.getNextCursor());
+    }
+
+    @Test
+    void searchProviders_OnLastPage_ShouldReturnNoCursor() {
+        // Arrange
+        ProviderSearchCriteria criteria = new ProviderSearchCriteria();
+        UUID cursor = UUID.randomUUID();
+        when(providerRepository.search(criteria, cursor, ProviderService.MAX_PAGE_SIZE + 1))
+                .thenReturn(Collections.singletonList(summary()));
+
+        // Act
+        ProviderSearchResponse response = providerService.searchProviders(criteria, cursor, 10_000);
+
+        // Assert
+        assertEquals(1, response.getProviders().size());
+        assertFalse(response.isHasMore());
+        assertNull(response.getNextCursor());
+    }
+
+    private static ProviderSummary summary() {
+        return new ProviderSummary(UUID.randomUUID(), "John", "Doe", "Cardiology", 10, "New York", "NY",
+                VerificationStatus.VERIFIED);
+    }
+
+    private static ProviderRegistrationRequest copyOf(ProviderRegistrationRequest request, String email,
+                                                      String phoneNumber, String licenseNumber) {
+        return new ProviderRegistrationRequest(request.getFirstName(), request.getLastName(), email, phoneNumber,
+                request.getPassword(), request.getSpecialization(), licenseNumber, request.getYearsOfExperience(),
+                request.getClinicAddress());
+    }
+
+    private static List<String> hashAll(InvocationOnMock invocation) {
+        List<?> rawPasswords = invocation.getArgument(0);
+        return Collections.nCopies(rawPasswords.size(), "hashedPassword");
+    }
+
+    private static ProviderUniqueKeys keys(String email, String phoneNumber, String licenseNumber) {
+        return new ProviderUniqueKeys() {
+            @Override
+            public String getEmail() {
+                return email;
+            }
+
+            @Override
+            public String getPhoneNumber() {
+                return phoneNumber;
+            }
+
+            @Override
+            public String getLicenseNumber() {
+                return licenseNumber;
+            }
+        };
+    }
+
+    // Stands in for the JPA transaction manager and counts open transactions, each of which
+    // would hold a pooled connection
+    static class CountingTransactionManager extends AbstractPlatformTransactionManager {
+        final AtomicInteger open = new AtomicInteger();
+        final AtomicInteger commits = new AtomicInteger();
+        final AtomicInteger rollbacks = new AtomicInteger();
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            open.incrementAndGet();
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            commits.incrementAndGet();
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            rollbacks.incrementAndGet();
+        }
+
+        @Override
+        protected void doCleanupAfterCompletion(Object transaction) {
+            open.decrementAndGet();
+        }
+    }
+}
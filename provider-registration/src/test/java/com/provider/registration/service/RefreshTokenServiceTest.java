@@ -0,0 +1,150 @@
+package com.provider.registration.service;
+
+import com.provider.registration.model.RefreshToken;
+import com.provider.registration.model.VerificationStatus;
+import com.provider.registration.repository.ProviderLoginView;
+import com.provider.registration.repository.ProviderLookupCache;
+import com.provider.registration.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private ProviderLookupCache providerLookupCache;
+
+    private RefreshTokenService refreshTokenService;
+    private UUID providerId;
+    private RefreshToken storedToken;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, providerLookupCache, 1209600);
+        providerId = UUID.randomUUID();
+
+        storedToken = new RefreshToken();
+        storedToken.setId(UUID.randomUUID());
+        storedToken.setTokenHash(RefreshTokenService.hash("raw-token"));
+        storedToken.setProviderId(providerId);
+        storedToken.setFamilyId(UUID.randomUUID());
+        storedToken.setCreatedAt(LocalDateTime.now().minusMinutes(5));
+        storedToken.setExpiresAt(LocalDateTime.now().plusDays(1));
+    }
+
+    @Test
+    void issue_ShouldStoreOnlyTheHashOfTheReturnedToken() {
+        // Act
+        String rawToken = refreshTokenService.issue(providerId);
+
+        // Assert
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertEquals(43, rawToken.length());
+        assertEquals(RefreshTokenService.hash(rawToken), saved.getValue().getTokenHash());
+        assertNotEquals(rawToken, saved.getValue().getTokenHash());
+        assertEquals(providerId, saved.getValue().getProviderId());
+    }
+
+    @Test
+    void rotate_WithActiveToken_ShouldRevokeItAndIssueNextInSameFamily() {
+        // Arrange
+        ProviderLoginView provider = loginView(true);
+        when(refreshTokenRepository.findByTokenHash(storedToken.getTokenHash())).thenReturn(Optional.of(storedToken));
+        when(refreshTokenRepository.revokeIfActive(eq(storedToken.getId()), any(LocalDateTime.class))).thenReturn(1);
+        when(providerLookupCache.findLoginViewById(providerId)).thenReturn(Optional.of(provider));
+
+        // Act
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate("raw-token");
+
+        // Assert
+        assertSame(provider, rotation.getProvider());
+        assertNotEquals("raw-token", rotation.getRefreshToken());
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertEquals(storedToken.getFamilyId(), saved.getValue().getFamilyId());
+        assertEquals(RefreshTokenService.hash(rotation.getRefreshToken()), saved.getValue().getTokenHash());
+    }
+
+    @Test
+    void rotate_WithAlreadyRotatedToken_ShouldRevokeWholeFamily() {
+        // Arrange
+        storedToken.setRevokedAt(LocalDateTime.now().minusMinutes(1));
+        when(refreshTokenRepository.findByTokenHash(storedToken.getTokenHash())).thenReturn(Optional.of(storedToken));
+
+        // Act & Assert
+        AuthenticationService.AuthenticationException exception = assertThrows(
+                AuthenticationService.AuthenticationException.class,
+                () -> refreshTokenService.rotate("raw-token"));
+        assertEquals("reused", exception.getOutcome());
+        verify(refreshTokenRepository).revokeFamily(eq(storedToken.getFamilyId()), any(LocalDateTime.class));
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rotate_WhenConcurrentRotationWins_ShouldTreatAsReuse() {
+        // Arrange
+        when(refreshTokenRepository.findByTokenHash(storedToken.getTokenHash())).thenReturn(Optional.of(storedToken));
+        when(refreshTokenRepository.revokeIfActive(eq(storedToken.getId()), any(LocalDateTime.class))).thenReturn(0);
+
+        // Act & Assert
+        AuthenticationService.AuthenticationException exception = assertThrows(
+                AuthenticationService.AuthenticationException.class,
+                () -> refreshTokenService.rotate("raw-token"));
+        assertEquals("reused", exception.getOutcome());
+        verify(refreshTokenRepository).revokeFamily(eq(storedToken.getFamilyId()), any(LocalDateTime.class));
+    }
+
+    @Test
+    void rotate_WithExpiredToken_ShouldFail() {
+        // Arrange
+        storedToken.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+        when(refreshTokenRepository.findByTokenHash(storedToken.getTokenHash())).thenReturn(Optional.of(storedToken));
+
+        // Act & Assert
+        AuthenticationService.AuthenticationException exception = assertThrows(
+                AuthenticationService.AuthenticationException.class,
+                () -> refreshTokenService.rotate("raw-token"));
+        assertEquals("expired", exception.getOutcome());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rotate_ForInactiveProvider_ShouldRevokeFamilyAndFail() {
+        // Arrange
+        when(refreshTokenRepository.findByTokenHash(storedToken.getTokenHash())).thenReturn(Optional.of(storedToken));
+        when(refreshTokenRepository.revokeIfActive(eq(storedToken.getId()), any(LocalDateTime.class))).thenReturn(1);
+        when(providerLookupCache.findLoginViewById(providerId)).thenReturn(Optional.of(loginView(false)));
+
+        // Act & Assert
+        AuthenticationService.AuthenticationException exception = assertThrows(
+                AuthenticationService.AuthenticationException.class,
+                () -> refreshTokenService.rotate("raw-token"));
+        assertEquals("inactive", exception.getOutcome());
+        verify(refreshTokenRepository).revokeFamily(eq(storedToken.getFamilyId()), any(LocalDateTime.class));
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    private ProviderLoginView loginView(boolean active) {
+        return new ProviderLoginView(providerId, "John", "Doe", "john.doe@example.com", "hashedPassword",
+                "Cardiology", VerificationStatus.PENDING, active, LocalDateTime.now());
+    }
+}
@@ -5,7 +5,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import javax.validation.ConstraintValidatorContext;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
 
 class StrongPasswordValidatorTest {
 
@@ -59,4 +63,62 @@ class StrongPasswordValidatorTest {
     void testValidPasswords(String password) {
         assertTrue(validator.isValid(password, null));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testWhitespaceAroundValidPasswordIsAccepted() {
+        assertTrue(validator.isValid(" StrongPass123! ", null));
+    }
+
+    @Test
+    void testInvalidPasswordReportsEveryFailedRule() {
+        // Arrange
+        ConstraintValidatorContext context = mock(ConstraintValidatorContext.class);
+        ConstraintValidatorContext.ConstraintViolationBuilder builder =
+                mock(ConstraintValidatorContext.ConstraintViolationBuilder.class);
+        when(context.buildConstraintViolationWithTemplate(anyString())).thenReturn(builder);
+
+        // Act
+        boolean valid = validator.isValid("short", context);
+
+        // Assert
+        assertFalse(valid);
+        verify(context).disableDefaultConstraintViolation();
+        verify(context).buildConstraintViolationWithTemplate("Password must be at least 8 characters long");
+        verify(context).buildConstraintViolationWithTemplate(StrongPasswordValidator.UPPERCASE_MESSAGE);
+        verify(context).buildConstraintViolationWithTemplate(StrongPasswordValidator.DIGIT_MESSAGE);
+        verify(context).buildConstraintViolationWithTemplate(StrongPasswordValidator.SPECIAL_MESSAGE);
+        verify(context, never()).buildConstraintViolationWithTemplate(StrongPasswordValidator.LOWERCASE_MESSAGE);
+        verify(builder, times(4)).addConstraintViolation();
+    }
+
+    @Test
+    void testValidPasswordAddsNoViolations() {
+        // Arrange
+        ConstraintValidatorContext context = mock(ConstraintValidatorContext.class);
+
+        // Act & Assert
+        assertTrue(validator.isValid("StrongPass123!", context));
+        verifyNoInteractions(context);
+    }
+
+    @Test
+    void testConfiguredPolicy() {
+        // Arrange
+        StrongPasswordValidator relaxed = new StrongPasswordValidator(
+                new PasswordPolicy(12, false, true, true, true, "~"));
+
+        // Act & Assert
+        assertTrue(relaxed.isValid("lowercase12~", null));
+        assertFalse(relaxed.isValid("lowercase12!", null)); // '!' is not in the configured set
+        assertFalse(relaxed.isValid("short12~", null));
+    }
+
+    @Test
+    void testNonAsciiSpecialCharacter() {
+        StrongPasswordValidator validator = new StrongPasswordValidator(
+                new PasswordPolicy(8, true, true, true, true, "§"));
+
+        assertTrue(validator.isValid("Password1§", null));
+        assertFalse(validator.isValid("Password1!", null));
+    }
+}